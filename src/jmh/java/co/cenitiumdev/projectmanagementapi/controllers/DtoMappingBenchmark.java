@@ -0,0 +1,76 @@
+package co.cenitiumdev.projectmanagementapi.controllers;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.models.Project;
+import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DtoMappingBenchmark {
+
+    private ProjectController projectController;
+    private TaskController taskController;
+    private Project project;
+    private ProjectDTO projectDTO;
+    private Task task;
+    private TaskDTO taskDTO;
+
+    @Setup
+    public void setUp() {
+        // Los mapeadores no usan los servicios.
+        projectController = new ProjectController(null, null);
+        taskController = new TaskController(null, null, null);
+
+        project = new Project();
+        project.setId(7L);
+        project.setVersion(3L);
+        project.setName("Proyecto de referencia");
+        project.setDescription("Descripción de tamaño habitual para un proyecto");
+        project.setStartDate(LocalDate.of(2026, 1, 1));
+        project.setEndDate(LocalDate.of(2026, 12, 31));
+        projectDTO = projectController.convertToDto(project);
+
+        task = new Task();
+        task.setId(11L);
+        task.setVersion(2L);
+        task.setName("Tarea de referencia");
+        task.setDescription("Descripción de tamaño habitual para una tarea");
+        task.setDueDate(LocalDate.of(2026, 6, 1));
+        task.setStatus(TaskStatus.IN_PROGRESS);
+        task.setProject(project);
+        taskDTO = taskController.convertToDto(task);
+    }
+
+    @Benchmark
+    public ProjectDTO projectToDto() {
+        return projectController.convertToDto(project);
+    }
+
+    @Benchmark
+    public Project projectToEntity() {
+        return projectController.convertToEntity(projectDTO);
+    }
+
+    @Benchmark
+    public TaskDTO taskToDto() {
+        return taskController.convertToDto(task);
+    }
+
+    @Benchmark
+    public Task taskToEntity() {
+        return taskController.convertToEntity(taskDTO);
+    }
+}
@@ -0,0 +1,114 @@
+package co.cenitiumdev.projectmanagementapi.controllers;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.ProjectManagementApiApplication;
+import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga de un listado de tareas de un proyecto por las dos vías: la de entidades gestionadas más
+ * {@code convertToDto} frente a la proyección por constructor JPQL que usan los endpoints de
+ * lectura. Cada invocación abre y cierra su EntityManager, como una petición.
+ * Usar con el perfilador gc del build para comparar bytes asignados por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskListLoadingBenchmark {
+
+    private static final String ENTITY_QUERY = "select t from Task t where t.project.id = :projectId order by t.id";
+    private static final String DTO_QUERY = TaskRepository.TASK_DTO_SELECT + "from Task t where t.project.id = :projectId order by t.id";
+
+    @Param({"50", "500", "5000"})
+    public int size;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private TaskController taskController;
+    private Long projectId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ProjectManagementApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:task-list-loading-" + size + ";DB_CLOSE_DELAY=-1",
+                        "app.scheduling.enabled=false",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        // El mapeador no usa los servicios.
+        taskController = new TaskController(null, null, null);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("insert into users (username, password, email) values ('bench', 'x', 'bench@test.local')");
+        Long ownerId = jdbcTemplate.queryForObject("select id from users where username = 'bench'", Long.class);
+        jdbcTemplate.update("insert into projects (version, name, owner_id) values (0, 'Carga de tareas', ?)", ownerId);
+        projectId = jdbcTemplate.queryForObject("select id from projects where owner_id = ?", Long.class, ownerId);
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Object[]> rows = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            rows.add(new Object[]{"Tarea " + i, "Descripción de la tarea número " + i,
+                    Date.valueOf(LocalDate.of(2026, 1, 1).plusDays(i % 365)), statuses[i % statuses.length].name(), projectId});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (version, name, description, due_date, status, overdue, project_id) " +
+                "values (0, ?, ?, ?, ?, false, ?)", rows);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskDTO> entitiesThenConvert() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            List<Task> tasks = entityManager.createQuery(ENTITY_QUERY, Task.class)
+                    .setParameter("projectId", projectId)
+                    .getResultList();
+            List<TaskDTO> dtos = new ArrayList<>(tasks.size());
+            for (Task task : tasks) {
+                dtos.add(taskController.convertToDto(task));
+            }
+            return dtos;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<TaskDTO> constructorProjection() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(DTO_QUERY, TaskDTO.class)
+                    .setParameter("projectId", projectId)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import co.cenitiumdev.projectmanagementapi.config.JwtAuthenticationEntryPoint;
+import co.cenitiumdev.projectmanagementapi.utils.JwtUtil;
+import co.cenitiumdev.projectmanagementapi.utils.JwtUtilBenchmark;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste del filtro JWT por petición con una cadena vacía: token ya en la caché de principales,
+ * token que hay que verificar y parsear, y petición sin cabecera. La lista de revocados está
+ * vacía, así que se mide solo la consulta al filtro de Bloom.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtRequestFilterBenchmark {
+
+    private JwtPrincipalCache principalCache;
+    private JwtRequestFilter filter;
+    private MockHttpServletRequest authorizedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = JwtUtilBenchmark.newJwtUtil();
+        principalCache = new JwtPrincipalCache(10_000);
+        filter = new JwtRequestFilter(jwtUtil, new JwtAuthenticationEntryPoint(), username -> {
+            throw new UsernameNotFoundException(username);
+        }, principalCache, new TokenDenylist(null, new SimpleMeterRegistry(), 100_000, 0.01, 3600), new SimpleMeterRegistry());
+
+        String token = jwtUtil.generateToken(new AuthenticatedUser(42L, "benchmark", null, null));
+        authorizedRequest = new MockHttpServletRequest("GET", "/api/projects");
+        authorizedRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/projects");
+        response = new MockHttpServletResponse();
+        chain = (request, servletResponse) -> { };
+    }
+
+    @Benchmark
+    public void cachedToken(Blackhole blackhole) throws Exception {
+        filter.doFilter(authorizedRequest, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void uncachedToken(Blackhole blackhole) throws Exception {
+        principalCache.clear();
+        filter.doFilter(authorizedRequest, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void missingHeader() throws Exception {
+        filter.doFilter(anonymousRequest, response, chain);
+    }
+}
@@ -0,0 +1,62 @@
+package co.cenitiumdev.projectmanagementapi.utils;
+
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "QzP3tVXSf9t2K6n8WbZcMdEfGjHlQ1rY0uXaCvYgO7iN5mPkLqR4sT3wV2yU1xZ0FjBpHyJkR7nWmXoAqLcVwS6uY8t1aZb0cKdGeHgIfIjMkNpOqRrStUvWxYzAbCdEfG";
+
+    private JwtUtil jwtUtil;
+    private AuthenticatedUser user;
+    private String token;
+    private Claims claims;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = newJwtUtil();
+        user = new AuthenticatedUser(42L, "benchmark", "{noop}secret", null);
+        token = jwtUtil.generateToken(user);
+        claims = jwtUtil.extractAllClaims(token);
+    }
+
+    public static JwtUtil newJwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600L);
+        return jwtUtil;
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, user);
+    }
+
+    @Benchmark
+    public Boolean validateParsedClaims() {
+        return jwtUtil.validateToken(claims, user);
+    }
+}
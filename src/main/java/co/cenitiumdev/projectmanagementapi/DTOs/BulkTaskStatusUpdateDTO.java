@@ -0,0 +1,30 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskStatusUpdateDTO {
+
+    @Size(max = 10000, message = "No se pueden actualizar más de 10000 tareas por petición")
+    private List<Long> taskIds;
+
+    private Set<TaskStatus> statuses;
+
+    private LocalDate dueFrom;
+
+    private LocalDate dueTo;
+
+    @NotNull(message = "El estado destino no puede ser nulo")
+    private TaskStatus targetStatus;
+}
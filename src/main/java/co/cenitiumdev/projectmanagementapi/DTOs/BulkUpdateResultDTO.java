@@ -0,0 +1,13 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateResultDTO {
+
+    private int updatedCount;
+}
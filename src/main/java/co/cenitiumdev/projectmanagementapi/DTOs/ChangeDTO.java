@@ -0,0 +1,32 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeDTO {
+
+    private long seq;
+
+    private ChangeEntityType entityType;
+
+    private Long entityId;
+
+    private Long projectId;
+
+    private ChangeOperation operation;
+
+    private Instant changedAt;
+
+    // Estado actual de la entidad en los UPSERT; null en las lápidas o si ya no existe.
+    private ProjectDTO project;
+
+    private TaskDTO task;
+}
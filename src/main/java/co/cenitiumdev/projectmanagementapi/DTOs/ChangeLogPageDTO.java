@@ -0,0 +1,23 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogPageDTO {
+
+    private List<ChangeDTO> changes;
+
+    // Valor de since para la siguiente llamada.
+    private long nextSince;
+
+    private boolean hasMore;
+
+    // El since pedido es anterior a lápidas ya purgadas: hay que descargar todo y seguir desde nextSince.
+    private boolean resetRequired;
+}
@@ -28,4 +28,6 @@ public class ProjectDTO {
 
     @NotNull(message = "La fecha de fin no puede ser nula")
     private LocalDate endDate;
+
+    private Long version;
 }
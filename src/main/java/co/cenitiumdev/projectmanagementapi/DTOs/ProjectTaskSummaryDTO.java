@@ -0,0 +1,23 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTaskSummaryDTO {
+
+    private Long projectId;
+
+    private long pending;
+
+    private long inProgress;
+
+    private long completed;
+
+    private long cancelled;
+
+    private long overdue;
+}
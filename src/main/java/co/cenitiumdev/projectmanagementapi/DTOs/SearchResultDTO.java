@@ -0,0 +1,22 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResultDTO {
+
+    private SearchResultType type;
+
+    private Long id;
+
+    private Long projectId;
+
+    private String name;
+
+    private float score;
+}
@@ -0,0 +1,18 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeDTO {
+
+    private TaskChangeType type;
+
+    private Long taskId;
+
+    private Long version;
+}
@@ -29,4 +29,8 @@ public class TaskDTO {
 
     @NotNull(message = "El estado de la tarea no puede ser nulo")
     private TaskStatus status;
+
+    private Long version;
+
+    private boolean overdue;
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package co.cenitiumdev.projectmanagementapi.DTOs;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskExportDTO {
+
+    private Long projectId;
+
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private LocalDate dueDate;
+
+    private TaskStatus status;
+}
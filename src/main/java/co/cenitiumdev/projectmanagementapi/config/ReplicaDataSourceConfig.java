@@ -0,0 +1,74 @@
+package co.cenitiumdev.projectmanagementapi.config;
+
+import co.cenitiumdev.projectmanagementapi.datasource.ReplicaMonitor;
+import co.cenitiumdev.projectmanagementapi.datasource.ReplicaPool;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Separa lecturas y escrituras cuando hay réplicas configuradas. El DataSource de la aplicación
+ * obtiene la conexión física en la primera sentencia, cuando ya sabe si la transacción es de solo
+ * lectura: las {@code @Transactional(readOnly = true)} van a una réplica (ReplicaPool) y el resto,
+ * incluidos Flyway y Hibernate al arrancar, al primario.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    public ReplicaPool replicaPool(DataSourceProperties properties, Environment environment, MeterRegistry meterRegistry,
+                                   @Value("${app.datasource.replicas.urls}") List<String> replicaUrls,
+                                   @Value("${app.datasource.replicas.username:${spring.datasource.username:}}") String username,
+                                   @Value("${app.datasource.replicas.password:${spring.datasource.password:}}") String password) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configure(primary, "primary", environment, meterRegistry);
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            configure(replica, "replica-" + (replicas.size() + 1), environment, meterRegistry);
+            replicas.add(replica);
+        }
+        return new ReplicaPool(primary, replicas, meterRegistry);
+    }
+
+    @Bean
+    public DataSource dataSource(ReplicaPool replicaPool) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(replicaPool.getPrimary());
+        dataSource.setReadOnlyDataSource(replicaPool.getReadDataSource());
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaMonitor replicaMonitor(ReplicaPool replicaPool,
+                                         @Value("${app.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        return new ReplicaMonitor(replicaPool, maxLag);
+    }
+
+    // Los pools no son beans: se aplican a mano spring.datasource.hikari.* y las métricas hikaricp.
+    private static void configure(HikariDataSource dataSource, String poolName, Environment environment,
+                                  MeterRegistry meterRegistry) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    }
+}
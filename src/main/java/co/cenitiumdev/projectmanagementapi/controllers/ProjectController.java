@@ -1,40 +1,52 @@
 package co.cenitiumdev.projectmanagementapi.controllers;
 
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
 import co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectTaskSummaryDTO;
 import co.cenitiumdev.projectmanagementapi.exceptions.ResourceNotFoundException;
 import co.cenitiumdev.projectmanagementapi.models.Project;
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
 import co.cenitiumdev.projectmanagementapi.services.ProjectService;
+import co.cenitiumdev.projectmanagementapi.services.TaskCounterService;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import co.cenitiumdev.projectmanagementapi.utils.ETags;
+import co.cenitiumdev.projectmanagementapi.metrics.SqlBudget;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
+@Timed(value = "api.controller", histogram = true)
 @RequestMapping("/api/projects")
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final TaskCounterService taskCounterService;
 
-    public ProjectController(ProjectService projectService) {
+    public ProjectController(ProjectService projectService, TaskCounterService taskCounterService) {
         this.projectService = projectService;
+        this.taskCounterService = taskCounterService;
     }
 
-    private ProjectDTO convertToDto(Project project) {
+    ProjectDTO convertToDto(Project project) {
         ProjectDTO dto = new ProjectDTO();
         dto.setId(project.getId());
         dto.setName(project.getName());
         dto.setDescription(project.getDescription());
         dto.setStartDate(project.getStartDate());
         dto.setEndDate(project.getEndDate());
+        dto.setVersion(project.getVersion());
         return dto;
     }
 
-    private Project convertToEntity(ProjectDTO projectDTO) {
+    Project convertToEntity(ProjectDTO projectDTO) {
         Project project = new Project();
         project.setName(projectDTO.getName());
         project.setDescription(projectDTO.getDescription());
@@ -44,45 +56,77 @@ public class ProjectController {
     }
 
     @PostMapping
+    @SqlBudget(5)
     public ResponseEntity<ProjectDTO> createProject(@Valid @RequestBody ProjectDTO projectDTO,
-                                                    @AuthenticationPrincipal UserDetails currentUser) {
+                                                    @AuthenticationPrincipal AuthenticatedUser currentUser) {
         Project project = convertToEntity(projectDTO);
-        Project createdProject = projectService.createProject(project, currentUser.getUsername());
-        return new ResponseEntity<>(convertToDto(createdProject), HttpStatus.CREATED);
+        Project createdProject = projectService.createProject(project, currentUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.of(createdProject.getVersion()))
+                .body(convertToDto(createdProject));
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectDTO>> getMyProjects(@AuthenticationPrincipal UserDetails currentUser) {
-        List<Project> projects = projectService.getProjectsByOwner(currentUser.getUsername());
-        List<ProjectDTO> projectDTOs = projects.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(projectDTOs, HttpStatus.OK);
+    @SqlBudget(2)
+    public ResponseEntity<CursorPageDTO<ProjectDTO>> getMyProjects(@RequestParam(required = false) String after,
+                                                                   @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_LIMIT) int limit,
+                                                                   @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                                   WebRequest webRequest) {
+        String etag = ETags.ofCollection(projectService.getProjectsVersion(currentUser.getId()), after, limit);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        CursorPageDTO<ProjectDTO> page = projectService.getProjectsByOwner(currentUser.getId(), after, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    @GetMapping("/summary")
+    @SqlBudget(2)
+    public ResponseEntity<List<ProjectTaskSummaryDTO>> getMyProjectSummaries(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return new ResponseEntity<>(taskCounterService.getSummariesByOwner(currentUser.getId()), HttpStatus.OK);
+    }
+
+    @GetMapping("/{id}/summary")
+    @SqlBudget(2)
+    public ResponseEntity<ProjectTaskSummaryDTO> getProjectSummary(@PathVariable Long id,
+                                                                   @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        return new ResponseEntity<>(taskCounterService.getSummary(id, currentUser.getId()), HttpStatus.OK);
     }
 
     @GetMapping("/{id}")
+    @SqlBudget(1)
     public ResponseEntity<ProjectDTO> getProjectById(@PathVariable Long id,
-                                                     @AuthenticationPrincipal UserDetails currentUser) {
-        Project project = projectService.getProjectByIdAndOwner(id, currentUser.getUsername())
+                                                     @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                     WebRequest webRequest) {
+        ProjectDTO project = projectService.getProjectByIdAndOwner(id, currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario con ID: " + id));
 
-        return new ResponseEntity<>(convertToDto(project), HttpStatus.OK);
+        if (webRequest.checkNotModified(ETags.of(project.getVersion()))) {
+            return null;
+        }
+        return new ResponseEntity<>(project, HttpStatus.OK);
     }
 
     @PutMapping("/{id}")
+    @SqlBudget(3)
     public ResponseEntity<ProjectDTO> updateProject(@PathVariable Long id,
                                                     @Valid @RequestBody ProjectDTO projectDTO,
-                                                    @AuthenticationPrincipal UserDetails currentUser) {
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                    @AuthenticationPrincipal AuthenticatedUser currentUser) {
         Project projectToUpdate = convertToEntity(projectDTO);
-        Project updated = projectService.updateProject(id, projectToUpdate, currentUser.getUsername());
-        return new ResponseEntity<>(convertToDto(updated), HttpStatus.OK);
+        Project updated = projectService.updateProject(id, projectToUpdate, currentUser.getId(), ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updated.getVersion()))
+                .body(convertToDto(updated));
     }
 
 
     @DeleteMapping("/{id}")
+    @SqlBudget(5)
     public ResponseEntity<Void> deleteProject(@PathVariable Long id,
-                                              @AuthenticationPrincipal UserDetails currentUser) {
-        projectService.deleteProject(id, currentUser.getUsername());
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        projectService.deleteProject(id, currentUser.getId(), ETags.parseIfMatch(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
@@ -0,0 +1,40 @@
+package co.cenitiumdev.projectmanagementapi.controllers;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.SearchResultDTO;
+import co.cenitiumdev.projectmanagementapi.metrics.SqlBudget;
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import co.cenitiumdev.projectmanagementapi.services.SearchService;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Timed(value = "api.controller", histogram = true)
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    public SearchController(SearchService searchService) {
+        this.searchService = searchService;
+    }
+
+    @GetMapping
+    @SqlBudget(0)
+    public ResponseEntity<CursorPageDTO<SearchResultDTO>> search(@RequestParam(required = false) String q,
+                                                                 @RequestParam(required = false) String type,
+                                                                 @RequestParam(required = false) Long projectId,
+                                                                 @RequestParam(required = false) String after,
+                                                                 @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_LIMIT) int limit,
+                                                                 @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        CursorPageDTO<SearchResultDTO> page = searchService.search(currentUser.getId(), q, type, projectId, after, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,36 @@
+package co.cenitiumdev.projectmanagementapi.controllers;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.ChangeLogPageDTO;
+import co.cenitiumdev.projectmanagementapi.metrics.SqlBudget;
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import co.cenitiumdev.projectmanagementapi.services.ChangeLogService;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Timed(value = "api.controller", histogram = true)
+@RequestMapping("/api/sync")
+public class SyncController {
+
+    private final ChangeLogService changeLogService;
+
+    public SyncController(ChangeLogService changeLogService) {
+        this.changeLogService = changeLogService;
+    }
+
+    @GetMapping
+    @SqlBudget(4)
+    public ResponseEntity<ChangeLogPageDTO> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                       @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_LIMIT) int limit,
+                                                       @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        ChangeLogPageDTO page = changeLogService.getChanges(currentUser.getId(), since, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+}
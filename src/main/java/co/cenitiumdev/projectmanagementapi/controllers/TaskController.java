@@ -1,39 +1,63 @@
 package co.cenitiumdev.projectmanagementapi.controllers;
 
+import co.cenitiumdev.projectmanagementapi.DTOs.BulkTaskStatusUpdateDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.BulkUpdateResultDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
 import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
 import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.services.TaskCounterService;
 import co.cenitiumdev.projectmanagementapi.services.TaskService;
+import co.cenitiumdev.projectmanagementapi.services.events.TaskChangeBroadcaster;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskFilter;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import co.cenitiumdev.projectmanagementapi.utils.ETags;
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import co.cenitiumdev.projectmanagementapi.metrics.SqlBudget;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @RestController
+@Timed(value = "api.controller", histogram = true)
 @RequestMapping("/api/projects/{projectId}/tasks")
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskCounterService taskCounterService;
+    private final TaskChangeBroadcaster taskChangeBroadcaster;
 
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskCounterService taskCounterService,
+                          TaskChangeBroadcaster taskChangeBroadcaster) {
         this.taskService = taskService;
+        this.taskCounterService = taskCounterService;
+        this.taskChangeBroadcaster = taskChangeBroadcaster;
     }
 
-    private TaskDTO convertToDto(Task task) {
+    TaskDTO convertToDto(Task task) {
         TaskDTO dto = new TaskDTO();
         dto.setId(task.getId());
         dto.setName(task.getName());
         dto.setDescription(task.getDescription());
         dto.setDueDate(task.getDueDate());
         dto.setStatus(task.getStatus());
+        dto.setVersion(task.getVersion());
+        dto.setOverdue(task.isOverdue());
         return dto;
     }
 
-    private Task convertToEntity(TaskDTO taskDTO) {
+    Task convertToEntity(TaskDTO taskDTO) {
         Task task = new Task();
         task.setName(taskDTO.getName());
         task.setDescription(taskDTO.getDescription());
@@ -43,49 +67,94 @@ public class TaskController {
     }
 
     @PostMapping
+    @SqlBudget(5)
     public ResponseEntity<TaskDTO> createTask(@PathVariable Long projectId,
                                               @Valid @RequestBody TaskDTO taskDTO,
-                                              @AuthenticationPrincipal UserDetails currentUser) {
+                                              @AuthenticationPrincipal AuthenticatedUser currentUser) {
         Task task = convertToEntity(taskDTO);
-        Task createdTask = taskService.createTask(projectId, task, currentUser.getUsername());
-        return new ResponseEntity<>(convertToDto(createdTask), HttpStatus.CREATED);
+        Task createdTask = taskService.createTask(projectId, task, currentUser.getId());
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(ETags.of(createdTask.getVersion()))
+                .body(convertToDto(createdTask));
     }
 
     @GetMapping
-    public ResponseEntity<List<TaskDTO>> getTasksByProject(@PathVariable Long projectId,
-                                                           @AuthenticationPrincipal UserDetails currentUser) {
-        List<Task> tasks = taskService.getTasksByProjectAndOwner(projectId, currentUser.getUsername());
-        List<TaskDTO> taskDTOs = tasks.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return new ResponseEntity<>(taskDTOs, HttpStatus.OK);
+    @SqlBudget(2)
+    public ResponseEntity<CursorPageDTO<TaskDTO>> getTasksByProject(@PathVariable Long projectId,
+                                                                    @RequestParam(defaultValue = TaskService.SORT_BY_ID) String sort,
+                                                                    @RequestParam(required = false) List<String> status,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+                                                                    @RequestParam(required = false) String after,
+                                                                    @RequestParam(defaultValue = "" + CursorCodec.DEFAULT_LIMIT) int limit,
+                                                                    @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                                                    WebRequest webRequest) {
+        TaskFilter filter = TaskService.parseFilter(status, dueFrom, dueTo);
+        long revision = taskCounterService.getTasksRevision(projectId, currentUser.getId());
+        if (webRequest.checkNotModified(ETags.ofCollection(projectId + "." + revision, sort,
+                filter.getStatuses().toString(), filter.getDueFrom(), filter.getDueTo(), after, limit))) {
+            return null;
+        }
+        CursorPageDTO<TaskDTO> page = taskService.getTasksByProjectAndOwner(projectId, currentUser.getId(), sort, filter, after, limit);
+        return new ResponseEntity<>(page, HttpStatus.OK);
+    }
+
+    // Cambios de las tareas del proyecto en SSE: eventos "task" con {type, taskId, version}. Ante un
+    // RESYNC el cliente debe volver a leer el listado.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @SqlBudget(1)
+    public SseEmitter subscribeToTaskChanges(@PathVariable Long projectId,
+                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        taskService.requireOwnedProject(projectId, currentUser.getId());
+        return taskChangeBroadcaster.subscribe(projectId);
     }
 
     @GetMapping("/{taskId}")
+    @SqlBudget(1)
     public ResponseEntity<TaskDTO> getTaskById(@PathVariable Long projectId,
                                                @PathVariable Long taskId,
-                                               @AuthenticationPrincipal UserDetails currentUser) {
-        return taskService.getTaskByIdAndProjectAndOwner(taskId, projectId, currentUser.getUsername())
-                .map(this::convertToDto)
-                .map(dto -> new ResponseEntity<>(dto, HttpStatus.OK))
-                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+                                               @AuthenticationPrincipal AuthenticatedUser currentUser,
+                                               WebRequest webRequest) {
+        Optional<TaskDTO> task = taskService.getTaskByIdAndProjectAndOwner(taskId, projectId, currentUser.getId());
+        if (task.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (webRequest.checkNotModified(ETags.of(task.get().getVersion()))) {
+            return null;
+        }
+        return new ResponseEntity<>(task.get(), HttpStatus.OK);
     }
 
     @PutMapping("/{taskId}")
+    @SqlBudget(5)
     public ResponseEntity<TaskDTO> updateTask(@PathVariable Long projectId,
                                               @PathVariable Long taskId,
                                               @Valid @RequestBody TaskDTO taskDTO,
-                                              @AuthenticationPrincipal UserDetails currentUser) {
+                                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                              @AuthenticationPrincipal AuthenticatedUser currentUser) {
         Task taskToUpdate = convertToEntity(taskDTO);
-        Task updated = taskService.updateTask(taskId, projectId, taskToUpdate, currentUser.getUsername());
-        return new ResponseEntity<>(convertToDto(updated), HttpStatus.OK);
+        Task updated = taskService.updateTask(taskId, projectId, taskToUpdate, currentUser.getId(), ETags.parseIfMatch(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updated.getVersion()))
+                .body(convertToDto(updated));
+    }
+
+    @PatchMapping("/status")
+    @SqlBudget(6)
+    public ResponseEntity<BulkUpdateResultDTO> updateTaskStatuses(@PathVariable Long projectId,
+                                                                  @Valid @RequestBody BulkTaskStatusUpdateDTO request,
+                                                                  @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        int updated = taskService.updateTaskStatuses(projectId, request, currentUser.getId());
+        return new ResponseEntity<>(new BulkUpdateResultDTO(updated), HttpStatus.OK);
     }
 
     @DeleteMapping("/{taskId}")
+    @SqlBudget(6)
     public ResponseEntity<Void> deleteTask(@PathVariable Long projectId,
                                            @PathVariable Long taskId,
-                                           @AuthenticationPrincipal UserDetails currentUser) {
-        taskService.deleteTask(taskId, projectId, currentUser.getUsername());
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                           @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        taskService.deleteTask(taskId, projectId, currentUser.getId(), ETags.parseIfMatch(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
@@ -0,0 +1,59 @@
+package co.cenitiumdev.projectmanagementapi.controllers;
+
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import co.cenitiumdev.projectmanagementapi.services.TaskService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+@RestController
+@RequestMapping("/api/tasks")
+public class TaskExportController {
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+
+    public TaskExportController(TaskService taskService, ObjectMapper objectMapper) {
+        this.taskService = taskService;
+        this.objectMapper = objectMapper;
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(@RequestParam(required = false) Long projectId,
+                                                             @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        Long ownerId = currentUser.getId();
+        if (projectId != null) {
+            taskService.requireOwnedProject(projectId, ownerId);
+        }
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.setRootValueSeparator(null);
+                taskService.exportTasks(ownerId, projectId, task -> {
+                    try {
+                        generator.writeObject(task);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(APPLICATION_NDJSON)
+                .body(body);
+    }
+}
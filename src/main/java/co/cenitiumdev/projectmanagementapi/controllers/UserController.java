@@ -3,53 +3,73 @@ package co.cenitiumdev.projectmanagementapi.controllers;
 import co.cenitiumdev.projectmanagementapi.DTOs.LoginRequestDTO;
 import co.cenitiumdev.projectmanagementapi.DTOs.UserRegistrationDTO;
 import co.cenitiumdev.projectmanagementapi.models.User;
-import co.cenitiumdev.projectmanagementapi.services.CustomUserDetailsService;
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import co.cenitiumdev.projectmanagementapi.security.LoginThrottle;
 import co.cenitiumdev.projectmanagementapi.services.UserService;
 import co.cenitiumdev.projectmanagementapi.utils.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import co.cenitiumdev.projectmanagementapi.metrics.SqlBudget;
+import io.micrometer.core.annotation.Timed;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
+@Timed(value = "api.controller", histogram = true)
 @RequestMapping("api/users")
 public class UserController {
 
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final LoginThrottle loginThrottle;
 
-    public UserController(UserService userService, AuthenticationManager authenticationManager, JwtUtil jwtUtil, CustomUserDetailsService userDetailsService) {
+    public UserController(UserService userService, AuthenticationManager authenticationManager, JwtUtil jwtUtil, LoginThrottle loginThrottle) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
         this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/register")
+    @SqlBudget(4)
     public ResponseEntity<String> registerUser(@Valid @RequestBody UserRegistrationDTO registrationDTO) {
         userService.registerNewUser(registrationDTO);
         return new ResponseEntity<>("Usuario registrado exitosamente", HttpStatus.CREATED);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<String> loginUser(@Valid @RequestBody LoginRequestDTO loginRequest) {
-        authenticationManager.authenticate(
+    @SqlBudget(1)
+    public ResponseEntity<String> loginUser(@Valid @RequestBody LoginRequestDTO loginRequest, HttpServletRequest request) {
+        loginThrottle.checkAttempt(loginRequest.getUsername(), request.getRemoteAddr());
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword())
         );
 
-        final UserDetails userDetails = userDetailsService.loadUserByUsername(loginRequest.getUsername());
+        final UserDetails userDetails = (UserDetails) authentication.getPrincipal();
         final String jwt = jwtUtil.generateToken(userDetails);
 
         return new ResponseEntity<>(jwt, HttpStatus.OK);
     }
 
+    // El token deja de aceptarse en todos los nodos; ver TokenDenylist.
+    @PostMapping("/logout")
+    @SqlBudget(1)
+    public ResponseEntity<Void> logoutUser(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+                                           @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        userService.logout(authorization.substring("Bearer ".length()), currentUser.getId());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
 
     @GetMapping("/{userId}")
+    @SqlBudget(1)
     public ResponseEntity<User> getUserProfile(@PathVariable Long userId) {
         User user = userService.getUserProfile(userId);
         return new ResponseEntity<>(user, HttpStatus.OK);
@@ -0,0 +1,90 @@
+package co.cenitiumdev.projectmanagementapi.datasource;
+
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lectura de las propias escrituras con réplicas: las peticiones que modifican datos se atienden
+ * enteras en el primario, y durante {@code app.datasource.replicas.read-your-writes-window} tras
+ * una escritura correcta las lecturas de ese usuario también, hasta que las réplicas la hayan
+ * recibido. Se ejecuta tras la cadena de seguridad para conocer al usuario.
+ */
+@Component
+@ConditionalOnProperty(name = "app.datasource.replicas.enabled", havingValue = "true")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    // Usuario -> instante (System.nanoTime) hasta el que sus lecturas van al primario
+    private final ConcurrentHashMap<Long, Long> stickyUntil = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesFilter(@Value("${app.datasource.replicas.read-your-writes-window:PT5S}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = currentUserId();
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if (!write && !wroteRecently(userId)) {
+            chain.doFilter(request, response);
+            return;
+        }
+        ReplicaRoutingContext.forcePrimary();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingContext.clear();
+            if (write && userId != null && response.getStatus() < 400) {
+                stickyUntil.put(userId, System.nanoTime() + windowNanos);
+            }
+        }
+    }
+
+    boolean wroteRecently(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntil.remove(userId, until);
+        return false;
+    }
+
+    // Olvida a los usuarios que escribieron y no volvieron a leer dentro de la ventana.
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.read-your-writes-window:PT5S}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        stickyUntil.values().removeIf(until -> until - now <= 0);
+    }
+
+    private static Long currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
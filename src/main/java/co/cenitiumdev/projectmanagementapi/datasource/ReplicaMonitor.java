@@ -0,0 +1,69 @@
+package co.cenitiumdev.projectmanagementapi.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Mide el retraso de cada réplica con un latido: escribe la hora actual en replica_heartbeat del
+ * primario y lee la que ve cada réplica. Una réplica que no responde o cuyo retraso supera
+ * {@code app.datasource.replicas.max-lag} deja de recibir lecturas hasta la siguiente comprobación
+ * correcta. El retraso medido incluye hasta un intervalo de latido, así que max-lag debe ser mayor
+ * que check-interval.
+ */
+public class ReplicaMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    private static final int QUERY_TIMEOUT_SECONDS = 2;
+
+    private final ReplicaPool pool;
+    private final JdbcTemplate primary;
+    private final Duration maxLag;
+
+    public ReplicaMonitor(ReplicaPool pool, Duration maxLag) {
+        this.pool = pool;
+        this.primary = timedTemplate(pool.getPrimary());
+        this.maxLag = maxLag;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replicas.check-interval:PT1S}")
+    public void tick() {
+        beat();
+        checkReplicas();
+    }
+
+    public void beat() {
+        try {
+            primary.update("update replica_heartbeat set beat_at = ? where id = 1", OffsetDateTime.now(ZoneOffset.UTC));
+        } catch (RuntimeException e) {
+            log.warn("No se pudo escribir el latido de réplicas en el primario: {}", e.getMessage());
+        }
+    }
+
+    public void checkReplicas() {
+        for (ReplicaPool.Replica replica : pool.getReplicas()) {
+            try {
+                OffsetDateTime beatAt = timedTemplate(replica.getDataSource())
+                        .queryForObject("select beat_at from replica_heartbeat where id = 1", OffsetDateTime.class);
+                Duration lag = Duration.between(beatAt.toInstant(), Instant.now());
+                replica.update(lag.isNegative() ? Duration.ZERO : lag, maxLag);
+            } catch (RuntimeException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    private static JdbcTemplate timedTemplate(DataSource dataSource) {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setQueryTimeout(QUERY_TIMEOUT_SECONDS);
+        return template;
+    }
+}
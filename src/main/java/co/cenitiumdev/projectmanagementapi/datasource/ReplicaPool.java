@@ -0,0 +1,161 @@
+package co.cenitiumdev.projectmanagementapi.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool del primario y de las réplicas de lectura. Las conexiones de solo lectura se reparten en
+ * turno rotatorio entre las réplicas disponibles; si ninguna lo está, o el hilo tiene que leer sus
+ * propias escrituras (ReplicaRoutingContext), se sirven desde el primario.
+ *
+ * Una réplica empieza como no disponible y ReplicaMonitor la activa tras comprobar su retraso.
+ */
+public class ReplicaPool implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaPool.class);
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter replicaReads;
+    private final Counter readYourWritesReads;
+    private final Counter fallbackReads;
+    private final DataSource readDataSource = new AbstractDataSource() {
+        @Override
+        public Connection getConnection() throws SQLException {
+            return getReadConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            throw new SQLFeatureNotSupportedException("Las réplicas usan las credenciales de su pool");
+        }
+    };
+
+    public ReplicaPool(HikariDataSource primary, List<HikariDataSource> replicaDataSources, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicaDataSources.stream().map(Replica::new).toList();
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.available", replica, r -> r.available ? 1 : 0)
+                    .description("1 si la réplica recibe lecturas, 0 si está caída o retrasada")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            TimeGauge.builder("datasource.replica.lag", replica, TimeUnit.MILLISECONDS, r -> r.lagMillis)
+                    .description("Retraso de la réplica respecto al primario medido con el latido")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+        this.replicaReads = readCounter(meterRegistry, "replica", "replica");
+        this.readYourWritesReads = readCounter(meterRegistry, "primary", "read-your-writes");
+        this.fallbackReads = readCounter(meterRegistry, "primary", "no-replica");
+    }
+
+    public HikariDataSource getPrimary() {
+        return primary;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /** DataSource de las transacciones de solo lectura. */
+    public DataSource getReadDataSource() {
+        return readDataSource;
+    }
+
+    Connection getReadConnection() throws SQLException {
+        if (ReplicaRoutingContext.isPrimaryForced()) {
+            readYourWritesReads.increment();
+            return primary.getConnection();
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        fallbackReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.close();
+    }
+
+    private static Counter readCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.reads")
+                .description("Conexiones de solo lectura según el destino elegido")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public static class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean available;
+        private volatile long lagMillis;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return dataSource.getPoolName();
+        }
+
+        DataSource getDataSource() {
+            return dataSource;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        void update(Duration lag, Duration maxLag) {
+            lagMillis = lag.toMillis();
+            boolean withinLag = lag.compareTo(maxLag) <= 0;
+            if (available != withinLag) {
+                if (withinLag) {
+                    log.info("Réplica {} disponible (retraso {} ms)", getName(), lagMillis);
+                } else {
+                    log.warn("Réplica {} retirada: retraso de {} ms, máximo {} ms", getName(), lagMillis, maxLag.toMillis());
+                }
+            }
+            available = withinLag;
+        }
+
+        void markDown(Exception cause) {
+            if (available) {
+                log.warn("Réplica {} retirada: {}", getName(), cause.getMessage());
+            }
+            available = false;
+        }
+    }
+}
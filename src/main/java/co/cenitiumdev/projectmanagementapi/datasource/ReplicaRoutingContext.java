@@ -0,0 +1,26 @@
+package co.cenitiumdev.projectmanagementapi.datasource;
+
+/**
+ * Marca el hilo actual para que sus lecturas vayan al primario aunque la transacción sea de solo
+ * lectura. La abre y cierra ReadYourWritesFilter; fuera de una petición (tareas programadas,
+ * arranque) no hay marca y las lecturas pueden ir a una réplica.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {
+    }
+
+    static void forcePrimary() {
+        PRIMARY_FORCED.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        PRIMARY_FORCED.remove();
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+}
@@ -0,0 +1,8 @@
+package co.cenitiumdev.projectmanagementapi.exceptions;
+
+public class SqlBudgetExceededException extends RuntimeException {
+
+    public SqlBudgetExceededException(String message) {
+        super(message);
+    }
+}
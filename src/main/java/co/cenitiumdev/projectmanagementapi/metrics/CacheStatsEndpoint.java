@@ -0,0 +1,45 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aciertos, fallos y ratio por región de la caché de segundo nivel en /actuator/cachestats. Son
+ * datos globales de la instancia, así que se sirven con el resto de Actuator en el puerto de
+ * gestión y no en la API.
+ */
+@Component
+@Endpoint(id = "cachestats")
+public class CacheStatsEndpoint {
+
+    private final Statistics statistics;
+
+    public CacheStatsEndpoint(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public List<CacheRegionStatsDTO> cacheStats() {
+        List<CacheRegionStatsDTO> regions = new ArrayList<>();
+        Arrays.stream(statistics.getSecondLevelCacheRegionNames()).sorted().forEach(regionName -> {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                long lookups = region.getHitCount() + region.getMissCount();
+                double hitRatio = lookups == 0 ? 0.0 : (double) region.getHitCount() / lookups;
+                regions.add(new CacheRegionStatsDTO(regionName, region.getHitCount(), region.getMissCount(),
+                        region.getPutCount(), hitRatio));
+            }
+        });
+        return regions;
+    }
+}
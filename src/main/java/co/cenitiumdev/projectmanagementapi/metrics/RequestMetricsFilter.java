@@ -0,0 +1,64 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Abre el contador de SQL de cada petición antes de la cadena de seguridad (para incluir las
+ * consultas del filtro JWT) y publica al terminar las sentencias y filas por endpoint.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final boolean captureQueries;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry,
+                                @Value("${app.sql-budget.mode:off}") SqlBudgetMode budgetMode) {
+        this.meterRegistry = meterRegistry;
+        this.captureQueries = budgetMode != SqlBudgetMode.OFF;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestSqlStats stats = RequestSqlStats.start(captureQueries);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestSqlStats.end();
+            String uri = uriTemplate(request);
+            summary("http.server.requests.sql.statements", "Sentencias SQL ejecutadas por petición", request, uri)
+                    .record(stats.getStatements());
+            summary("http.server.requests.sql.rows", "Filas leídas de la base de datos por petición", request, uri)
+                    .record(stats.getRows());
+        }
+    }
+
+    private DistributionSummary summary(String name, String description, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(name)
+                .description(description)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    static String uriTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
@@ -0,0 +1,68 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Sentencias SQL y filas leídas durante la petición HTTP en curso. Se guarda en un ThreadLocal
+ * que abre y cierra RequestMetricsFilter; fuera de una petición (tareas programadas, arranque)
+ * no hay contador activo y las sentencias no se atribuyen a nadie.
+ *
+ * El texto de las sentencias solo se conserva cuando hay presupuestos activos, y como mucho las
+ * primeras {@value #MAX_CAPTURED_QUERIES}.
+ */
+public class RequestSqlStats {
+
+    static final int MAX_CAPTURED_QUERIES = 50;
+
+    private static final ThreadLocal<RequestSqlStats> CURRENT = new ThreadLocal<>();
+
+    private final List<String> queries;
+    private int statements;
+    private long rows;
+
+    private RequestSqlStats(boolean captureQueries) {
+        this.queries = captureQueries ? new ArrayList<>() : null;
+    }
+
+    static RequestSqlStats start(boolean captureQueries) {
+        RequestSqlStats stats = new RequestSqlStats(captureQueries);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestSqlStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(int count) {
+        statements += count;
+    }
+
+    void queryExecuted(String query) {
+        if (queries != null && queries.size() < MAX_CAPTURED_QUERIES) {
+            queries.add(query);
+        }
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public List<String> getQueries() {
+        return queries != null ? Collections.unmodifiableList(queries) : List.of();
+    }
+}
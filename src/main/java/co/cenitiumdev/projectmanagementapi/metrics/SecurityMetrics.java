@@ -0,0 +1,56 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+import co.cenitiumdev.projectmanagementapi.security.BoundedPasswordEncoder;
+import co.cenitiumdev.projectmanagementapi.security.JwtPrincipalCache;
+import co.cenitiumdev.projectmanagementapi.security.LoginThrottle;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Métricas de los componentes de autenticación: caché de principales JWT, pool de BCrypt y
+ * límite de intentos de login.
+ */
+@Component
+public class SecurityMetrics implements MeterBinder {
+
+    private final JwtPrincipalCache principalCache;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final LoginThrottle loginThrottle;
+
+    public SecurityMetrics(JwtPrincipalCache principalCache, BoundedPasswordEncoder passwordEncoder, LoginThrottle loginThrottle) {
+        this.principalCache = principalCache;
+        this.passwordEncoder = passwordEncoder;
+        this.loginThrottle = loginThrottle;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("security.jwt.cache.size", principalCache, JwtPrincipalCache::size)
+                .description("Tokens verificados en la caché de principales")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.cache.requests", principalCache, JwtPrincipalCache::getHitCount)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.cache.requests", principalCache, JwtPrincipalCache::getMissCount)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("security.jwt.cache.evictions", principalCache, JwtPrincipalCache::getEvictionCount)
+                .register(registry);
+
+        Gauge.builder("security.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::getActiveCount)
+                .description("Hashes BCrypt en ejecución")
+                .register(registry);
+        Gauge.builder("security.password.hashing.queued", passwordEncoder, BoundedPasswordEncoder::getQueueSize)
+                .description("Hashes BCrypt en cola")
+                .register(registry);
+        Gauge.builder("security.password.hashing.strength", passwordEncoder, BoundedPasswordEncoder::getStrength)
+                .register(registry);
+
+        FunctionCounter.builder("security.login.throttled", loginThrottle, LoginThrottle::getRejectedCount)
+                .description("Intentos de login rechazados con 429")
+                .register(registry);
+    }
+}
@@ -0,0 +1,20 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Número máximo de sentencias SQL que puede ejecutar una petición al endpoint anotado, contando
+ * también las de la cadena de seguridad. Lo comprueba {@link SqlBudgetGuard} según
+ * {@code app.sql-budget.mode}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface SqlBudget {
+
+    int value();
+}
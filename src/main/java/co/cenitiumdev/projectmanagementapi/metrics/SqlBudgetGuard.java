@@ -0,0 +1,62 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.SqlBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Comprueba el {@link SqlBudget} de los endpoints anotados al volver del controlador, cuando la
+ * respuesta aún no se ha escrito y en modo {@code fail} todavía puede convertirse en un error.
+ * Las sentencias que se ejecuten después (serialización con open-in-view) no se cuentan aquí,
+ * pero siguen apareciendo en http.server.requests.sql.statements.
+ */
+@Aspect
+@Component
+public class SqlBudgetGuard {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlBudgetGuard.class);
+
+    private final SqlBudgetMode mode;
+    private final MeterRegistry meterRegistry;
+
+    public SqlBudgetGuard(@Value("${app.sql-budget.mode:off}") SqlBudgetMode mode, MeterRegistry meterRegistry) {
+        this.mode = mode;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("@annotation(budget)")
+    public Object enforce(ProceedingJoinPoint joinPoint, SqlBudget budget) throws Throwable {
+        Object result = joinPoint.proceed();
+        RequestSqlStats stats = RequestSqlStats.current();
+        if (mode == SqlBudgetMode.OFF || stats == null || stats.getStatements() <= budget.value()) {
+            return result;
+        }
+
+        String method = "";
+        String uri = "UNKNOWN";
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            method = request.getMethod();
+            uri = RequestMetricsFilter.uriTemplate(request);
+        }
+        meterRegistry.counter("http.server.requests.sql.budget.exceeded", "method", method, "uri", uri).increment();
+
+        String message = String.format("%s %s ejecutó %d sentencias SQL con un presupuesto de %d",
+                method, uri, stats.getStatements(), budget.value());
+        String queries = String.join("\n  ", stats.getQueries());
+        log.warn("{}:\n  {}", message, queries);
+        if (mode == SqlBudgetMode.FAIL) {
+            throw new SqlBudgetExceededException(message + ": " + String.join(" | ", stats.getQueries()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,10 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+public enum SqlBudgetMode {
+    /** No se capturan las sentencias ni se comprueban los presupuestos. */
+    OFF,
+    /** Registra en el log la petición que excede su presupuesto y las sentencias que ejecutó. */
+    LOG,
+    /** Además de registrarla, hace fallar la petición con un 500 (pensado para los tests). */
+    FAIL
+}
@@ -0,0 +1,52 @@
+package co.cenitiumdev.projectmanagementapi.models;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entrada del registro de cambios de un usuario. {@code seq} crece de uno en uno por propietario
+ * (ver {@link ChangeLogHead}); la compactación conserva solo la última entrada de cada entidad.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "uk_change_log_owner_id_seq", columnList = "owner_id, seq", unique = true),
+        @Index(name = "idx_change_log_entity_type_entity_id_id", columnList = "entity_type, entity_id, id"),
+        @Index(name = "idx_change_log_operation_changed_at", columnList = "operation, changed_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ChangeOperation operation;
+
+    @Column(nullable = false)
+    private Instant changedAt;
+}
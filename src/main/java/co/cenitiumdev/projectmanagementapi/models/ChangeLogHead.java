@@ -0,0 +1,32 @@
+package co.cenitiumdev.projectmanagementapi.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cabeza del registro de cambios de un usuario. Cada escritura incrementa {@code lastSeq} con un
+ * UPDATE que bloquea la fila hasta el commit, así que las escrituras de un mismo usuario reciben
+ * números consecutivos en el orden en que se confirman y un cliente nunca se salta una entrada
+ * que aún no era visible.
+ */
+@Entity
+@Table(name = "change_log_heads")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeLogHead {
+
+    @Id
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(nullable = false)
+    private long lastSeq;
+
+    // Mayor seq de las lápidas ya purgadas: un cliente sincronizado antes de ese punto pudo
+    // perderse un borrado y debe descargar todo de nuevo.
+    @Column(nullable = false)
+    private long compactedSeq;
+}
@@ -0,0 +1,37 @@
+package co.cenitiumdev.projectmanagementapi.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Posición persistida de un proceso en segundo plano que recorre una tabla por (fecha, id): cada
+ * ejecución continúa tras la última fila procesada en lugar de volver a empezar.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private LocalDate markDate;
+
+    private Long markId;
+
+    @Column(nullable = false)
+    private Instant updatedAt;
+
+    public JobCheckpoint(String name) {
+        this.name = name;
+        this.updatedAt = Instant.now();
+    }
+}
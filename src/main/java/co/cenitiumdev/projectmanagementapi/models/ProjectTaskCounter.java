@@ -0,0 +1,38 @@
+package co.cenitiumdev.projectmanagementapi.models;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "project_task_counters")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectTaskCounter {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(nullable = false)
+    private long pending;
+
+    @Column(nullable = false)
+    private long inProgress;
+
+    @Column(nullable = false)
+    private long completed;
+
+    @Column(nullable = false)
+    private long cancelled;
+
+    // Versión de la colección de tareas del proyecto: aumenta con cada escritura sobre sus tareas.
+    @Column(nullable = false)
+    private long revision;
+
+    public ProjectTaskCounter(Long projectId) {
+        this.projectId = projectId;
+    }
+}
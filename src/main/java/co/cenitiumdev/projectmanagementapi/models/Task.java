@@ -3,13 +3,20 @@ package co.cenitiumdev.projectmanagementapi.models;
 import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.AllArgsConstructor;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_project_id_id", columnList = "project_id, id"),
+        @Index(name = "idx_tasks_project_id_due_date_id", columnList = "project_id, due_date, id"),
+        @Index(name = "idx_tasks_project_id_status_due_date", columnList = "project_id, status, due_date"),
+        @Index(name = "idx_tasks_due_date_id", columnList = "due_date, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,18 +26,29 @@ public class Task {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String name;
 
     @Column(columnDefinition = "TEXT")
     private String description;
 
+    @Column(nullable = false)
     private LocalDate dueDate;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private TaskStatus status;
 
+    // Abierta y con la fecha de vencimiento pasada. Se calcula al escribir la tarea y
+    // OverdueTaskScanner lo marca cuando la fecha vence sin que nadie la toque.
+    @Column(nullable = false)
+    private boolean overdue;
+
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
     private Project project;
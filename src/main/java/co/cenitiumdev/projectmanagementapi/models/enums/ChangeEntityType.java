@@ -0,0 +1,6 @@
+package co.cenitiumdev.projectmanagementapi.models.enums;
+
+public enum ChangeEntityType {
+    PROJECT,
+    TASK
+}
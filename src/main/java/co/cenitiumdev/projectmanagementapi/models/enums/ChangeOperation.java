@@ -0,0 +1,8 @@
+package co.cenitiumdev.projectmanagementapi.models.enums;
+
+public enum ChangeOperation {
+    /** La entidad se creó o modificó; el cliente debe guardar su estado actual. */
+    UPSERT,
+    /** Lápida: la entidad se eliminó. */
+    DELETE
+}
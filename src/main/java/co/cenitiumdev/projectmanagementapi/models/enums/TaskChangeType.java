@@ -0,0 +1,9 @@
+package co.cenitiumdev.projectmanagementapi.models.enums;
+
+public enum TaskChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    /** Cambiaron varias tareas a la vez o se perdieron eventos: hay que volver a leer el listado. */
+    RESYNC
+}
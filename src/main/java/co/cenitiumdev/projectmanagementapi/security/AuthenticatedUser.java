@@ -0,0 +1,49 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Principal autenticado. Cuando proviene de un JWT se construye únicamente a partir de los claims
+ * firmados (id de usuario, nombre de usuario e id del token), sin consultar la tabla de usuarios.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String username;
+    private final String password;
+    private final String tokenId;
+
+    public AuthenticatedUser(Long id, String username, String password, String tokenId) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.tokenId = tokenId;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.emptyList();
+    }
+}
@@ -0,0 +1,142 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt ejecutado en un pool propio y acotado. Los hilos de Tomcat solo esperan el resultado, y
+ * cuando la cola está llena la petición se rechaza al instante con 503 en lugar de ocupar más
+ * hilos del servidor: una ráfaga de logins no puede dejar sin hilos al resto de la API.
+ *
+ * El coste se calibra al arrancar para que un hash tarde aproximadamente {@code targetHashTime};
+ * los hashes guardados con un coste menor se rehacen en el siguiente login correcto
+ * (ver {@link #upgradeEncoding(String)}).
+ */
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final int CALIBRATION_ROUNDS = 3;
+
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final int strength;
+
+    public BoundedPasswordEncoder(@Value("${password.hashing.target-time:250ms}") Duration targetHashTime,
+                                  @Value("${password.hashing.min-strength:10}") int minStrength,
+                                  @Value("${password.hashing.max-strength:14}") int maxStrength,
+                                  @Value("${password.hashing.workers:0}") int workers,
+                                  @Value("${password.hashing.queue-capacity:32}") int queueCapacity,
+                                  @Value("${password.hashing.timeout:5s}") Duration timeout) {
+        this.strength = calibrate(targetHashTime, minStrength, maxStrength);
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.timeout = timeout;
+
+        int poolSize = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bcrypt-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        log.info("BCrypt con coste {} en {} hilo(s) y cola de {}", strength, poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> work) {
+        Future<T> future;
+        try {
+            future = executor.submit(work);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceUnavailableException("Demasiadas solicitudes de autenticación en curso. Inténtelo de nuevo en unos segundos.", e);
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new ServiceUnavailableException("La verificación de la contraseña tardó demasiado. Inténtelo de nuevo.", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("La verificación de la contraseña fue interrumpida.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Cada punto de coste duplica el tiempo de BCrypt, así que basta medir el coste mínimo y tomar
+     * el mayor coste cuya estimación no supere el objetivo.
+     */
+    private static int calibrate(Duration target, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minStrength);
+        probe.encode("calibracion");
+        long start = System.nanoTime();
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            probe.encode("calibracion");
+        }
+        double baseNanos = Math.max(1, (System.nanoTime() - start) / (double) CALIBRATION_ROUNDS);
+
+        int extra = (int) Math.floor(Math.log(target.toNanos() / baseNanos) / Math.log(2));
+        int calibrated = Math.min(maxStrength, minStrength + Math.max(0, extra));
+        log.info("Calibración BCrypt: coste {} tarda {} ms, objetivo {} ms, coste elegido {}",
+                minStrength, Math.round(baseNanos / 1_000_000), target.toMillis(), calibrated);
+        return calibrated;
+    }
+}
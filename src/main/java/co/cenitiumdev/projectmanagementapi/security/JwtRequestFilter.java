@@ -2,9 +2,12 @@ package co.cenitiumdev.projectmanagementapi.security;
 
 import co.cenitiumdev.projectmanagementapi.config.JwtAuthenticationEntryPoint;
 import co.cenitiumdev.projectmanagementapi.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +22,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -26,42 +30,92 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;
     private final JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
     private final UserDetailsService userDetailsService;
+    private final JwtPrincipalCache principalCache;
+    private final TokenDenylist tokenDenylist;
+    private final Timer cachedTimer;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+    private final Timer anonymousTimer;
 
 
-    public JwtRequestFilter(JwtUtil jwtUtil, JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint, UserDetailsService userDetailsService) {
+    public JwtRequestFilter(JwtUtil jwtUtil, JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint, UserDetailsService userDetailsService,
+                            JwtPrincipalCache principalCache, TokenDenylist tokenDenylist, MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.jwtAuthenticationEntryPoint = jwtAuthenticationEntryPoint;
         this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.tokenDenylist = tokenDenylist;
+        this.cachedTimer = timer(meterRegistry, "cached");
+        this.verifiedTimer = timer(meterRegistry, "verified");
+        this.rejectedTimer = timer(meterRegistry, "rejected");
+        this.anonymousTimer = timer(meterRegistry, "anonymous");
+    }
+
+    // Mide solo el trabajo del filtro, sin el resto de la cadena.
+    private static Timer timer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("security.jwt.filter")
+                .description("Tiempo del filtro JWT por petición, sin incluir el resto de la cadena")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
+        final long start = System.nanoTime();
         final String requestTokenHeader = request.getHeader("Authorization");
 
         String username = null;
         String jwtToken = null;
+        Claims claims = null;
 
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
             jwtToken = requestTokenHeader.substring(7);
+
+            UserDetails cachedUser = principalCache.get(jwtToken);
+            // La caché no exime de la revocación: el token pudo revocarse en otro nodo.
+            if (cachedUser instanceof AuthenticatedUser user && tokenDenylist.isRevoked(user.getTokenId())) {
+                principalCache.invalidate(jwtToken);
+                rejectRevoked(request, response, start);
+                return;
+            }
+            if (cachedUser != null) {
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    authenticate(request, cachedUser);
+                }
+                record(cachedTimer, start);
+                chain.doFilter(request, response);
+                return;
+            }
+
             try {
-                username = jwtUtil.extractUsername(jwtToken);
+                claims = jwtUtil.extractAllClaims(jwtToken);
+                username = claims.getSubject();
+                if (tokenDenylist.isRevoked(claims.getId())) {
+                    rejectRevoked(request, response, start);
+                    return;
+                }
             } catch (ExpiredJwtException e) {
                 logger.warn("JWT Token has expired: " + e.getMessage());
                 jwtAuthenticationEntryPoint.commence(request, response, new BadCredentialsException("JWT Token has expired.", e));
+                record(rejectedTimer, start);
                 return;
             } catch (SignatureException e) { // Manejar SignatureException
                 logger.warn("Invalid JWT Signature: " + e.getMessage());
                 jwtAuthenticationEntryPoint.commence(request, response, new BadCredentialsException("Invalid JWT signature.", e));
+                record(rejectedTimer, start);
                 return; // ¡CRUCIAL: Detener la cadena de filtros aquí!
             } catch (MalformedJwtException e) {
                 logger.warn("Malformed JWT: " + e.getMessage());
                 jwtAuthenticationEntryPoint.commence(request, response, new BadCredentialsException("Malformed JWT token.", e));
+                record(rejectedTimer, start);
                 return;
             } catch (IllegalArgumentException e) {
                 logger.warn("Unable to get JWT Token: " + e.getMessage());
                 jwtAuthenticationEntryPoint.commence(request, response, new BadCredentialsException("Unable to get JWT token.", e));
+                record(rejectedTimer, start);
                 return;
             }
         } else {
@@ -70,16 +124,40 @@ public class JwtRequestFilter extends OncePerRequestFilter {
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // Los tokens emitidos antes de incluir el claim "uid" se resuelven contra la base de datos.
+            UserDetails userDetails = jwtUtil.extractPrincipal(claims);
+            if (userDetails == null) {
+                userDetails = this.userDetailsService.loadUserByUsername(username);
+            }
 
-            if (jwtUtil.validateToken(jwtToken, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+            if (jwtUtil.validateToken(claims, userDetails)) {
+                principalCache.put(jwtToken, userDetails, claims.getExpiration());
+                authenticate(request, userDetails);
             }
         }
+        if (jwtToken == null) {
+            record(anonymousTimer, start);
+        } else {
+            record(SecurityContextHolder.getContext().getAuthentication() != null ? verifiedTimer : rejectedTimer, start);
+        }
         chain.doFilter(request, response);
     }
+
+    private void rejectRevoked(HttpServletRequest request, HttpServletResponse response, long start) throws IOException {
+        logger.warn("Revoked JWT used for " + request.getRequestURI());
+        jwtAuthenticationEntryPoint.commence(request, response, new BadCredentialsException("JWT Token has been revoked."));
+        record(rejectedTimer, start);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private void authenticate(HttpServletRequest request, UserDetails userDetails) {
+        UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, userDetails.getAuthorities());
+        usernamePasswordAuthenticationToken
+                .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+    }
 }
@@ -0,0 +1,47 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Límite de intentos de login por nombre de usuario y por IP de cliente. Se comprueba antes de
+ * AuthenticationManager, de modo que un intento limitado no llega a consultar la base de datos ni
+ * a ejecutar BCrypt.
+ */
+@Component
+public class LoginThrottle {
+
+    private final StripedTokenBuckets byUsername;
+    private final StripedTokenBuckets byClientIp;
+    private final LongAdder rejected = new LongAdder();
+
+    public LoginThrottle(@Value("${login.throttle.username.capacity:10}") int usernameCapacity,
+                         @Value("${login.throttle.username.window:1m}") Duration usernameWindow,
+                         @Value("${login.throttle.ip.capacity:60}") int ipCapacity,
+                         @Value("${login.throttle.ip.window:1m}") Duration ipWindow,
+                         @Value("${login.throttle.stripes:131072}") int stripes) {
+        this.byUsername = new StripedTokenBuckets(usernameCapacity, usernameWindow, stripes);
+        this.byClientIp = new StripedTokenBuckets(ipCapacity, ipWindow, stripes);
+    }
+
+    public void checkAttempt(String username, String clientIp) {
+        long waitMillis = byClientIp.tryAcquire(clientIp);
+        if (waitMillis == 0 && username != null) {
+            waitMillis = byUsername.tryAcquire(username.toLowerCase(Locale.ROOT));
+        }
+        if (waitMillis > 0) {
+            rejected.increment();
+            throw new TooManyRequestsException("Demasiados intentos de inicio de sesión. Inténtelo de nuevo más tarde.",
+                    Math.max(1, (waitMillis + 999) / 1000));
+        }
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
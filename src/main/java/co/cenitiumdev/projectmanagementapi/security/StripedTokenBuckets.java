@@ -0,0 +1,123 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets aproximados con memoria fija, al estilo de un count-min sketch: cada clave cae en
+ * un bucket de cada fila y solo se limita cuando todos sus buckets están vacíos, así que una clave
+ * ruidosa no bloquea a las que comparten con ella un único bucket. Las colisiones solo pueden
+ * hacer que una clave se limite antes, nunca después.
+ *
+ * Cada bucket es un único long con el "instante teórico de llegada" del algoritmo GCRA (en ns
+ * desde la creación): se concede mientras no adelante al reloj en más de la ráfaga permitida, y
+ * se actualiza con un CAS sin bloqueos. Un bucket a cero está lleno, por lo que el array recién
+ * creado no necesita inicialización.
+ */
+public class StripedTokenBuckets {
+
+    private static final int ROWS = 2;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long intervalNanos;
+    private final long windowNanos;
+    private final long toleranceNanos;
+    private final long seed;
+    private final LongSupplier clock;
+    private final long origin;
+
+    public StripedTokenBuckets(int capacity, Duration window, int stripes) {
+        this(capacity, window, stripes, System::nanoTime);
+    }
+
+    StripedTokenBuckets(int capacity, Duration window, int stripes, LongSupplier nanoClock) {
+        if (Integer.bitCount(stripes) != 1) {
+            throw new IllegalArgumentException("El número de buckets por fila debe ser potencia de dos: " + stripes);
+        }
+        this.buckets = new AtomicLongArray(ROWS * stripes);
+        this.mask = stripes - 1;
+        this.windowNanos = window.toNanos();
+        this.intervalNanos = windowNanos / capacity;
+        this.toleranceNanos = windowNanos - intervalNanos;
+        this.seed = ThreadLocalRandom.current().nextLong();
+        this.clock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * Consume un token de la clave.
+     *
+     * @return 0 si se concedió, o los milisegundos que faltan para que haya un token disponible
+     */
+    public long tryAcquire(String key) {
+        long hash = hash(key);
+        int first = (int) hash & mask;
+        int second = mask + 1 + ((int) (hash >>> 32) & mask);
+        long now = clock.getAsLong() - origin;
+
+        // Se intenta primero el bucket más holgado; si un hilo concurrente lo agota, el otro aún
+        // puede conceder. Bajo contención sobre una misma clave esto admite como mucho un token
+        // extra por hilo en carrera, que es el margen aceptable de un contador aproximado.
+        int preferred = backlog(first, now) <= backlog(second, now) ? first : second;
+        int other = preferred == first ? second : first;
+        int granted;
+        if (consume(preferred, now)) {
+            granted = preferred;
+        } else if (consume(other, now)) {
+            granted = other;
+        } else {
+            long waitNanos = Math.min(backlog(first, now), backlog(second, now)) - toleranceNanos;
+            return Math.max(1, (waitNanos + 999_999) / 1_000_000);
+        }
+        charge(granted == first ? second : first, now);
+        return 0;
+    }
+
+    public int getStripes() {
+        return mask + 1;
+    }
+
+    private boolean consume(int index, long now) {
+        while (true) {
+            long arrival = buckets.get(index);
+            long base = Math.max(arrival, now);
+            if (base - now > toleranceNanos) {
+                return false;
+            }
+            if (buckets.compareAndSet(index, arrival, base + intervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    /** Carga el token en el otro bucket sin condición, para que todas las filas lo cuenten. */
+    private void charge(int index, long now) {
+        while (true) {
+            long arrival = buckets.get(index);
+            // El tope evita que una clave muy ruidosa deje el bucket bloqueado más de una ventana.
+            long next = Math.min(Math.max(arrival, now) + intervalNanos, now + windowNanos);
+            if (buckets.compareAndSet(index, arrival, next)) {
+                return;
+            }
+        }
+    }
+
+    private long backlog(int index, long now) {
+        return Math.max(buckets.get(index), now) - now;
+    }
+
+    private long hash(String key) {
+        long hash = seed;
+        for (int i = 0; i < key.length(); i++) {
+            hash = (hash ^ key.charAt(i)) * 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
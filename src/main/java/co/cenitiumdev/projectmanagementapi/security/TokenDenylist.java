@@ -0,0 +1,152 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import co.cenitiumdev.projectmanagementapi.models.RevokedToken;
+import co.cenitiumdev.projectmanagementapi.services.repositories.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de tokens revocados compartida entre nodos a través de la tabla revoked_tokens.
+ *
+ * Cada nodo guarda en memoria un filtro de Bloom con los jti revocados, así que comprobar un
+ * token válido cuesta unos pocos accesos a memoria. Solo cuando el filtro responde "quizá" se
+ * confirma contra la tabla, y el resultado se recuerda hasta que el token expira. Las revocaciones
+ * de otros nodos llegan cada {@code jwt.revocation.sync-interval}; cada
+ * {@code jwt.revocation.rebuild-interval} se purgan las filas de tokens ya expirados y el filtro
+ * se reconstruye sin ellas.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+
+    // Margen para no perder revocaciones cuyo commit llega después de la consulta anterior.
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository repository;
+    private final int expectedRevocations;
+    private final double falsePositiveRate;
+    private final long tokenLifetimeMillis;
+    private final Counter revokedCounter;
+    private final Counter falsePositiveCounter;
+
+    private volatile BloomFilter filter;
+    private volatile Instant syncedFrom = Instant.EPOCH;
+    // jti -> expiración en ms de los positivos ya confirmados (revocado) o descartados (falso positivo)
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> cleared = new ConcurrentHashMap<>();
+
+    public TokenDenylist(RevokedTokenRepository repository, MeterRegistry meterRegistry,
+                         @Value("${jwt.revocation.expected-revocations:100000}") int expectedRevocations,
+                         @Value("${jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${jwt.expiration}") long tokenLifetimeSeconds) {
+        this.repository = repository;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.tokenLifetimeMillis = tokenLifetimeSeconds * 1000;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+        this.revokedCounter = checkCounter(meterRegistry, "revoked");
+        this.falsePositiveCounter = checkCounter(meterRegistry, "false-positive");
+    }
+
+    @PostConstruct
+    void load() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        // El token expira como muy tarde dentro de jwt.expiration: no hace falta recordarlo más.
+        long expiresAtMillis = System.currentTimeMillis() + tokenLifetimeMillis;
+        if (revoked.containsKey(jti)) {
+            revokedCounter.increment();
+            return true;
+        }
+        if (cleared.containsKey(jti)) {
+            return false;
+        }
+        if (repository.existsByJti(jti)) {
+            revoked.put(jti, expiresAtMillis);
+            revokedCounter.increment();
+            return true;
+        }
+        falsePositiveCounter.increment();
+        if (cleared.size() < expectedRevocations) {
+            cleared.put(jti, expiresAtMillis);
+        }
+        return false;
+    }
+
+    public void revoke(String jti, Long userId, Instant expiresAt) {
+        try {
+            repository.save(new RevokedToken(jti, userId, expiresAt, Instant.now()));
+        } catch (DataIntegrityViolationException e) {
+            // Otra petición ya lo revocó.
+        }
+        filter.put(jti);
+        cleared.remove(jti);
+        revoked.put(jti, expiresAt.toEpochMilli());
+    }
+
+    // Añade las revocaciones de otros nodos desde la última sincronización.
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT5S}", initialDelayString = "${jwt.revocation.sync-interval:PT5S}")
+    public void sync() {
+        Instant now = Instant.now();
+        List<String> jtis = repository.findJtisRevokedSince(syncedFrom, now);
+        BloomFilter current = filter;
+        for (String jti : jtis) {
+            current.put(jti);
+            cleared.remove(jti);
+        }
+        syncedFrom = now.minus(SYNC_OVERLAP);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval:PT15M}", initialDelayString = "${jwt.revocation.rebuild-interval:PT15M}")
+    public void purgeAndRebuild() {
+        int purged = repository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.info("Revocaciones de tokens expirados eliminadas: {}", purged);
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        Instant now = Instant.now();
+        List<String> jtis = repository.findActiveJtis(now);
+        if (jtis.size() > expectedRevocations) {
+            log.warn("Hay {} tokens revocados activos, más de los {} previstos: aumenta la tasa de falsos positivos",
+                    jtis.size(), expectedRevocations);
+        }
+        BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+        jtis.forEach(rebuilt::put);
+        // Lo que se revoque mientras tanto lo recoge la siguiente sincronización.
+        syncedFrom = now.minus(SYNC_OVERLAP);
+        long nowMillis = now.toEpochMilli();
+        revoked.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        cleared.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        // Las revocaciones locales posteriores a la consulta siguen en el mapa: se vuelven a añadir.
+        revoked.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("security.jwt.revocation.confirmations")
+                .description("Positivos del filtro de Bloom confirmados contra revoked_tokens")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
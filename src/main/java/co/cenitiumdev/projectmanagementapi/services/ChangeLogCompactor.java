@@ -0,0 +1,145 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.models.JobCheckpoint;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ChangeLogHeadRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ChangeLogKey;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ChangeLogRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compacta el registro de cambios en dos pasos:
+ * <ul>
+ *   <li>Borra las entradas superadas por otra posterior de la misma entidad. Solo recorre las
+ *   entradas nuevas desde la marca guardada en job_checkpoints, así que su coste depende de lo
+ *   que cambió desde la última ejecución y no del tamaño del registro.</li>
+ *   <li>Purga las lápidas más antiguas que {@code changelog.tombstone-retention} y sube el
+ *   horizonte de cada usuario afectado: los clientes sincronizados antes de él deben descargar
+ *   todo de nuevo.</li>
+ * </ul>
+ * Tras compactar, el registro guarda como mucho una entrada por entidad viva más las lápidas
+ * recientes.
+ */
+@Service
+public class ChangeLogCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogCompactor.class);
+
+    static final String JOB_NAME = "change-log-compaction";
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogHeadRepository headRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Duration tombstoneRetention;
+    private final Counter removedCounter;
+    private final Timer compactionTimer;
+
+    public ChangeLogCompactor(ChangeLogRepository changeLogRepository,
+                              ChangeLogHeadRepository headRepository,
+                              JobCheckpointRepository checkpointRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${changelog.compaction.chunk-size:1000}") int chunkSize,
+                              @Value("${changelog.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.changeLogRepository = changeLogRepository;
+        this.headRepository = headRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.tombstoneRetention = tombstoneRetention;
+        this.removedCounter = Counter.builder("changelog.compaction.removed")
+                .description("Entradas del registro de cambios eliminadas por la compactación")
+                .register(meterRegistry);
+        this.compactionTimer = Timer.builder("changelog.compaction")
+                .description("Duración de cada compactación del registro de cambios")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${changelog.compaction.interval:PT10M}", initialDelayString = "${changelog.compaction.interval:PT10M}")
+    public void scheduledCompaction() {
+        try {
+            compact(Instant.now());
+        } catch (RuntimeException e) {
+            log.warn("La compactación del registro de cambios falló; se reintentará en la próxima ejecución", e);
+        }
+    }
+
+    /** Devuelve el número de entradas eliminadas. */
+    public long compact(Instant now) {
+        return compactionTimer.record(() -> {
+            long removed = 0;
+            int scanned;
+            do {
+                int[] chunk = transactionTemplate.execute(status -> compactChunk());
+                scanned = chunk[0];
+                removed += chunk[1];
+            } while (scanned == chunkSize);
+            removed += transactionTemplate.execute(status -> purgeTombstones(now.minus(tombstoneRetention)));
+
+            removedCounter.increment(removed);
+            if (removed > 0) {
+                log.info("Registro de cambios compactado: {} entradas eliminadas", removed);
+            }
+            return removed;
+        });
+    }
+
+    // Para cada entidad del bloque se conserva su entrada más reciente y se borran las anteriores.
+    private int[] compactChunk() {
+        JobCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+        Long afterId = checkpoint.getMarkId() == null ? 0L : checkpoint.getMarkId();
+        List<ChangeLogKey> keys = changeLogRepository.findKeysAfter(afterId, Limit.of(chunkSize));
+        if (keys.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        Map<ChangeEntityType, Map<Long, Long>> latestByEntity = new EnumMap<>(ChangeEntityType.class);
+        for (ChangeLogKey key : keys) {
+            latestByEntity.computeIfAbsent(key.getEntityType(), type -> new HashMap<>())
+                    .merge(key.getEntityId(), key.getId(), Math::max);
+        }
+        Long upToId = keys.get(keys.size() - 1).getId();
+        int removed = 0;
+        for (Map.Entry<ChangeEntityType, Map<Long, Long>> entry : latestByEntity.entrySet()) {
+            removed += changeLogRepository.deleteSuperseded(entry.getKey(), entry.getValue().keySet(), upToId,
+                    entry.getValue().values());
+        }
+
+        checkpoint.setMarkId(upToId);
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpointRepository.save(checkpoint);
+        return new int[]{keys.size(), removed};
+    }
+
+    private int purgeTombstones(Instant cutoff) {
+        List<Object[]> horizons = changeLogRepository.findExpiredTombstoneSeqs(cutoff);
+        if (horizons.isEmpty()) {
+            return 0;
+        }
+        for (Object[] row : horizons) {
+            headRepository.raiseCompactedSeq((Long) row[0], (Long) row[1]);
+        }
+        return changeLogRepository.deleteExpiredTombstones(cutoff);
+    }
+}
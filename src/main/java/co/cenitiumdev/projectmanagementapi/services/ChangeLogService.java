@@ -0,0 +1,145 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.ChangeDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ChangeLogPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
+import co.cenitiumdev.projectmanagementapi.models.ChangeLogEntry;
+import co.cenitiumdev.projectmanagementapi.models.ChangeLogHead;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ChangeLogHeadRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ChangeLogRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ProjectRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskRepository;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Registro de cambios por usuario para la sincronización incremental. Cada escritura de
+ * ProjectService y TaskService añade aquí su entrada en la misma transacción, de modo que el
+ * registro nunca incluye cambios revertidos ni pierde cambios confirmados.
+ */
+@Service
+public class ChangeLogService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangeLogService.class);
+
+    private static final int APPEND_CHUNK_SIZE = 1000;
+
+    private final ChangeLogRepository changeLogRepository;
+    private final ChangeLogHeadRepository headRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+
+    public ChangeLogService(ChangeLogRepository changeLogRepository, ChangeLogHeadRepository headRepository,
+                            TaskRepository taskRepository, ProjectRepository projectRepository) {
+        this.changeLogRepository = changeLogRepository;
+        this.headRepository = headRepository;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createHead(Long ownerId) {
+        headRepository.insert(ownerId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long ownerId, ChangeEntityType entityType, Long entityId, Long projectId, ChangeOperation operation) {
+        reserve(ownerId, 1);
+        changeLogRepository.appendAtHead(ownerId, entityType, entityId, projectId, operation, Instant.now());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTasks(Long ownerId, List<Long> taskIds, ChangeOperation operation) {
+        Instant now = Instant.now();
+        for (int from = 0; from < taskIds.size(); from += APPEND_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + APPEND_CHUNK_SIZE, taskIds.size()));
+            reserve(ownerId, chunk.size());
+            changeLogRepository.appendTasksAtHead(ownerId, chunk, chunk.size(), operation, now);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public ChangeLogPageDTO getChanges(Long ownerId, long since, int limit) {
+        if (since < 0) {
+            throw new BadRequestException("since no puede ser negativo.");
+        }
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        ChangeLogHead head = headRepository.findById(ownerId).orElse(new ChangeLogHead(ownerId, 0, 0));
+        if (since > head.getLastSeq()) {
+            throw new BadRequestException("since es posterior al último cambio registrado (" + head.getLastSeq() + ").");
+        }
+        if (since < head.getCompactedSeq()) {
+            return new ChangeLogPageDTO(List.of(), head.getLastSeq(), false, true);
+        }
+
+        List<ChangeLogEntry> rows = changeLogRepository.findPageByOwnerId(ownerId, since, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ChangeLogEntry> entries = hasMore ? rows.subList(0, pageSize) : rows;
+
+        Map<Long, TaskDTO> tasks = loadUpserted(entries, ChangeEntityType.TASK,
+                ids -> taskRepository.findDtosByIdInAndOwnerId(ids, ownerId), TaskDTO::getId);
+        Map<Long, ProjectDTO> projects = loadUpserted(entries, ChangeEntityType.PROJECT,
+                ids -> projectRepository.findDtosByIdInAndOwnerId(ids, ownerId), ProjectDTO::getId);
+
+        List<ChangeDTO> changes = new ArrayList<>(entries.size());
+        for (ChangeLogEntry entry : entries) {
+            boolean upsert = entry.getOperation() == ChangeOperation.UPSERT;
+            changes.add(new ChangeDTO(entry.getSeq(), entry.getEntityType(), entry.getEntityId(), entry.getProjectId(),
+                    entry.getOperation(), entry.getChangedAt(),
+                    upsert && entry.getEntityType() == ChangeEntityType.PROJECT ? projects.get(entry.getEntityId()) : null,
+                    upsert && entry.getEntityType() == ChangeEntityType.TASK ? tasks.get(entry.getEntityId()) : null));
+        }
+        long nextSince = entries.isEmpty() ? since : entries.get(entries.size() - 1).getSeq();
+        return new ChangeLogPageDTO(changes, nextSince, hasMore, false);
+    }
+
+    // Usuarios anteriores a esta tabla: se les crea la cabeza con el registro vacío.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void createMissingHeads() {
+        int created = headRepository.createMissingHeads();
+        if (created > 0) {
+            log.info("Registro de cambios inicializado para {} usuarios", created);
+        }
+    }
+
+    // Reserva los seq y bloquea la cabeza del usuario hasta el commit.
+    private void reserve(Long ownerId, long count) {
+        if (headRepository.advance(ownerId, count) == 0) {
+            createHead(ownerId);
+            headRepository.advance(ownerId, count);
+        }
+    }
+
+    private static <T> Map<Long, T> loadUpserted(List<ChangeLogEntry> entries, ChangeEntityType type,
+                                                 Function<Collection<Long>, List<T>> loader, Function<T, Long> idOf) {
+        List<Long> ids = entries.stream()
+                .filter(entry -> entry.getEntityType() == type && entry.getOperation() == ChangeOperation.UPSERT)
+                .map(ChangeLogEntry::getEntityId)
+                .distinct()
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return loader.apply(ids).stream().collect(Collectors.toMap(idOf, Function.identity()));
+    }
+}
@@ -2,14 +2,13 @@ package co.cenitiumdev.projectmanagementapi.services;
 
 
 import co.cenitiumdev.projectmanagementapi.models.User;
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
 import co.cenitiumdev.projectmanagementapi.services.repositories.UserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
@@ -24,10 +23,11 @@ public class CustomUserDetailsService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
-                new ArrayList<>()
+                null
         );
     }
 }
@@ -0,0 +1,157 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.models.JobCheckpoint;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import co.cenitiumdev.projectmanagementapi.services.events.TaskChanged;
+import co.cenitiumdev.projectmanagementapi.services.repositories.JobCheckpointRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.OverdueScanRow;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Marca como vencidas las tareas abiertas cuya fecha de vencimiento ya pasó. Cada ejecución
+ * recorre el índice (due_date, id) por rango desde la marca guardada en job_checkpoints hasta
+ * ayer, así que solo lee las tareas que vencieron desde la ejecución anterior y nunca la tabla
+ * completa. La primera ejecución parte de cero y recorre una única vez las tareas ya vencidas.
+ *
+ * Cada bloque se procesa en su propia transacción, que también avanza la marca: si el proceso
+ * se interrumpe, la siguiente ejecución continúa tras el último bloque confirmado. Marcar una
+ * tarea incrementa su versión, así que el bloque también la anota en el registro de cambios de
+ * su propietario: un cliente sincronizado recibe el nuevo estado antes de su próximo If-Match.
+ */
+@Service
+public class OverdueTaskScanner {
+
+    private static final Logger log = LoggerFactory.getLogger(OverdueTaskScanner.class);
+
+    static final String JOB_NAME = "overdue-tasks";
+
+    private final TaskRepository taskRepository;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TaskCounterService taskCounterService;
+    private final ChangeLogService changeLogService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final Counter scannedCounter;
+    private final Counter flaggedCounter;
+    private final Timer scanTimer;
+
+    public OverdueTaskScanner(TaskRepository taskRepository,
+                              JobCheckpointRepository checkpointRepository,
+                              TaskCounterService taskCounterService,
+                              ChangeLogService changeLogService,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${tasks.overdue.chunk-size:500}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.taskCounterService = taskCounterService;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.scannedCounter = Counter.builder("tasks.overdue.scanned")
+                .description("Tareas leídas por el detector de vencidas")
+                .register(meterRegistry);
+        this.flaggedCounter = Counter.builder("tasks.overdue.flagged")
+                .description("Tareas marcadas como vencidas por el detector")
+                .register(meterRegistry);
+        this.scanTimer = Timer.builder("tasks.overdue.scan")
+                .description("Duración de cada ejecución del detector de vencidas")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.overdue.scan-interval:PT1M}", initialDelayString = "${tasks.overdue.initial-delay:PT30S}")
+    public void scheduledScan() {
+        try {
+            scan(LocalDate.now());
+        } catch (RuntimeException e) {
+            log.warn("El detector de tareas vencidas falló; se reintentará en la próxima ejecución", e);
+        }
+    }
+
+    public ScanResult scan(LocalDate today) {
+        long start = System.nanoTime();
+        long scanned = 0;
+        long flagged = 0;
+        int chunks = 0;
+        ScanResult chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> scanChunk(today));
+            scanned += chunk.scanned();
+            flagged += chunk.flagged();
+            chunks++;
+        } while (chunk.scanned() == chunkSize);
+
+        long elapsed = System.nanoTime() - start;
+        scanTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        if (flagged > 0) {
+            log.info("Detector de vencidas: {} tareas leídas en {} bloques, {} marcadas en {} ms",
+                    scanned, chunks, flagged, elapsed / 1_000_000);
+        }
+        return new ScanResult(scanned, flagged);
+    }
+
+    private ScanResult scanChunk(LocalDate today) {
+        JobCheckpoint checkpoint = checkpointRepository.findForUpdate(JOB_NAME)
+                .orElseGet(() -> new JobCheckpoint(JOB_NAME));
+        List<OverdueScanRow> rows = checkpoint.getMarkDate() == null
+                ? taskRepository.findFirstOverdueScanPage(today, Limit.of(chunkSize))
+                : taskRepository.findOverdueScanPage(checkpoint.getMarkDate(), checkpoint.getMarkId(), today, Limit.of(chunkSize));
+        if (rows.isEmpty()) {
+            return new ScanResult(0, 0);
+        }
+
+        List<OverdueScanRow> candidates = rows.stream()
+                .filter(row -> !row.isOverdue() && TaskCounterService.OPEN_STATUSES.contains(row.getStatus()))
+                .collect(Collectors.toList());
+        int flagged = 0;
+        if (!candidates.isEmpty()) {
+            // Los contadores de los proyectos se bloquean antes que las tareas, como en TaskService.
+            Set<Long> projectIds = candidates.stream().map(OverdueScanRow::getProjectId).collect(Collectors.toCollection(TreeSet::new));
+            taskCounterService.tasksTouched(projectIds);
+            flagged = taskRepository.markOverdue(
+                    candidates.stream().map(OverdueScanRow::getId).collect(Collectors.toList()),
+                    TaskCounterService.OPEN_STATUSES, today);
+            Map<Long, List<Long>> taskIdsByOwner = candidates.stream().collect(Collectors.groupingBy(
+                    OverdueScanRow::getOwnerId, Collectors.mapping(OverdueScanRow::getId, Collectors.toList())));
+            taskIdsByOwner.forEach((ownerId, taskIds) -> changeLogService.recordTasks(ownerId, taskIds, ChangeOperation.UPSERT));
+            projectIds.forEach(projectId -> eventPublisher.publishEvent(TaskChanged.resync(projectId)));
+        }
+
+        OverdueScanRow last = rows.get(rows.size() - 1);
+        checkpoint.setMarkDate(last.getDueDate());
+        checkpoint.setMarkId(last.getId());
+        checkpoint.setUpdatedAt(Instant.now());
+        checkpointRepository.save(checkpoint);
+
+        scannedCounter.increment(rows.size());
+        flaggedCounter.increment(flagged);
+        return new ScanResult(rows.size(), flagged);
+    }
+
+    public record ScanResult(long scanned, long flagged) {
+    }
+}
@@ -1,15 +1,24 @@
 package co.cenitiumdev.projectmanagementapi.services;
 
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO;
 import co.cenitiumdev.projectmanagementapi.exceptions.ResourceNotFoundException;
 import co.cenitiumdev.projectmanagementapi.models.Project;
-import co.cenitiumdev.projectmanagementapi.models.User;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
 import co.cenitiumdev.projectmanagementapi.services.repositories.ProjectRepository;
 import co.cenitiumdev.projectmanagementapi.services.repositories.UserRepository;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocument;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocumentDeleted;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocumentSaved;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import co.cenitiumdev.projectmanagementapi.utils.ETags;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -17,58 +26,77 @@ public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
+    private final ChangeLogService changeLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository) {
+    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository, TaskCounterService taskCounterService,
+                          ChangeLogService changeLogService, ApplicationEventPublisher eventPublisher) {
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
+        this.taskCounterService = taskCounterService;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public Project createProject(Project project, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Propietario del proyecto no encontrado: " + ownerUsername));
-        project.setOwner(owner);
-        return projectRepository.save(project);
+    public Project createProject(Project project, Long ownerId) {
+        project.setOwner(userRepository.getReferenceById(ownerId));
+        Project saved = projectRepository.save(project);
+        taskCounterService.createCounters(saved.getId());
+        changeLogService.record(ownerId, ChangeEntityType.PROJECT, saved.getId(), saved.getId(), ChangeOperation.UPSERT);
+        eventPublisher.publishEvent(new SearchDocumentSaved(SearchDocument.of(saved, ownerId)));
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    public List<Project> getProjectsByOwner(String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Propietario del proyecto no encontrado: " + ownerUsername));
-        return projectRepository.findByOwner(owner);
+    public CursorPageDTO<ProjectDTO> getProjectsByOwner(Long ownerId, String after, int limit) {
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        Long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+        return CursorPageDTO.fromOverfetched(
+                projectRepository.findDtoPageByOwnerId(ownerId, afterId, Limit.of(pageSize + 1)),
+                pageSize,
+                project -> CursorCodec.encodeId(project.getId()));
     }
 
     @Transactional(readOnly = true)
-    public Optional<Project> getProjectByIdAndOwner(Long projectId, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Propietario del proyecto no encontrado: " + ownerUsername));
-        return projectRepository.findByIdAndOwner(projectId, owner);
+    public String getProjectsVersion(Long ownerId) {
+        Object[] fingerprint = projectRepository.findCollectionVersionByOwnerId(ownerId).get(0);
+        return fingerprint[0] + "." + fingerprint[1] + "." + fingerprint[2];
     }
 
-    @Transactional
-    public Project updateProject(Long projectId, Project updatedProject, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Propietario del proyecto no encontrado: " + ownerUsername));
+    @Transactional(readOnly = true)
+    public Optional<ProjectDTO> getProjectByIdAndOwner(Long projectId, Long ownerId) {
+        return projectRepository.findDtoByIdAndOwnerId(projectId, ownerId);
+    }
 
-        return projectRepository.findByIdAndOwner(projectId, owner)
+    @Transactional
+    public Project updateProject(Long projectId, Project updatedProject, Long ownerId, Long expectedVersion) {
+        return projectRepository.findByIdAndOwnerId(projectId, ownerId)
                 .map(existingProject -> {
+                    ETags.checkVersion(expectedVersion, existingProject.getVersion());
                     existingProject.setName(updatedProject.getName());
                     existingProject.setDescription(updatedProject.getDescription());
                     existingProject.setStartDate(updatedProject.getStartDate());
                     existingProject.setEndDate(updatedProject.getEndDate());
+                    eventPublisher.publishEvent(new SearchDocumentSaved(SearchDocument.of(existingProject, ownerId)));
+                    changeLogService.record(ownerId, ChangeEntityType.PROJECT, projectId, projectId, ChangeOperation.UPSERT);
                     return projectRepository.save(existingProject);
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario con ID: " + projectId));
     }
 
     @Transactional
-    public void deleteProject(Long projectId, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Propietario del proyecto no encontrado: " + ownerUsername));
-
-        projectRepository.findByIdAndOwner(projectId, owner)
+    public void deleteProject(Long projectId, Long ownerId, Long expectedVersion) {
+        projectRepository.findByIdAndOwnerId(projectId, ownerId)
                 .ifPresentOrElse(
-                        projectRepository::delete,
+                        project -> {
+                            ETags.checkVersion(expectedVersion, project.getVersion());
+                            taskCounterService.deleteCounters(project.getId());
+                            changeLogService.record(ownerId, ChangeEntityType.PROJECT, projectId, projectId, ChangeOperation.DELETE);
+                            projectRepository.delete(project);
+                            eventPublisher.publishEvent(new SearchDocumentDeleted(SearchResultType.PROJECT, projectId));
+                        },
                         () -> { throw new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario con ID: " + projectId); }
                 );
     }
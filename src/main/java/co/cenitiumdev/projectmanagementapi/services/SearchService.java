@@ -0,0 +1,100 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.SearchResultDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
+import co.cenitiumdev.projectmanagementapi.exceptions.ServiceUnavailableException;
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ProjectRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskRepository;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocument;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocumentDeleted;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocumentSaved;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchIndex;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.stream.Stream;
+
+@Service
+public class SearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchService.class);
+
+    private static final int MAX_QUERY_LENGTH = 200;
+
+    private final SearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+
+    private volatile boolean ready;
+
+    public SearchService(SearchIndex searchIndex, TaskRepository taskRepository, ProjectRepository projectRepository) {
+        this.searchIndex = searchIndex;
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    public CursorPageDTO<SearchResultDTO> search(Long ownerId, String query, String type, Long projectId,
+                                                 String after, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("El parámetro q no puede estar vacío.");
+        }
+        if (query.length() > MAX_QUERY_LENGTH) {
+            throw new BadRequestException("La búsqueda no puede superar los " + MAX_QUERY_LENGTH + " caracteres.");
+        }
+        if (!ready) {
+            // Mientras se construye, el índice está incompleto: mejor un 503 que resultados que faltan.
+            throw new ServiceUnavailableException("El índice de búsqueda se está construyendo. Inténtelo de nuevo en unos segundos.");
+        }
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        return searchIndex.search(ownerId, query, parseType(type), projectId,
+                after == null ? null : CursorCodec.decodeSearch(after), pageSize);
+    }
+
+    // Solo se indexa lo confirmado: si la transacción hace rollback, el índice no se entera.
+    @TransactionalEventListener
+    public void onDocumentSaved(SearchDocumentSaved event) {
+        searchIndex.upsert(event.document());
+    }
+
+    @TransactionalEventListener
+    public void onDocumentDeleted(SearchDocumentDeleted event) {
+        searchIndex.delete(event.type(), event.id());
+    }
+
+    // El índice no se guarda en disco: cada arranque lo construye desde la base de datos.
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        long start = System.nanoTime();
+        try (Stream<SearchDocument> projects = projectRepository.streamSearchDocuments()) {
+            projects.forEach(searchIndex::upsert);
+        }
+        try (Stream<SearchDocument> tasks = taskRepository.streamSearchDocuments()) {
+            tasks.forEach(searchIndex::upsert);
+        }
+        searchIndex.refresh();
+        ready = true;
+        log.info("Índice de búsqueda construido con {} documentos en {} ms",
+                searchIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static SearchResultType parseType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        try {
+            return SearchResultType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Tipo no soportado: " + type + ". Valores permitidos: task, project.");
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectTaskSummaryDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.ResourceNotFoundException;
+import co.cenitiumdev.projectmanagementapi.models.ProjectTaskCounter;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import co.cenitiumdev.projectmanagementapi.services.repositories.ProjectTaskCounterRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Contadores de tareas por estado y proyecto. Se actualizan en la misma transacción que las
+ * escrituras de TaskService, de modo que los resúmenes nunca recorren la tabla de tareas.
+ * <p>
+ * La fila de contadores es además el cerrojo del proyecto: las escrituras que leen estados antes
+ * de cambiarlos la bloquean con {@link #lockCounters} antes que cualquier tarea, así el estado
+ * leído es el que se modifica y todas toman los cerrojos en el mismo orden.
+ */
+@Service
+public class TaskCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskCounterService.class);
+
+    public static final Set<TaskStatus> OPEN_STATUSES = EnumSet.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    private final ProjectTaskCounterRepository counterRepository;
+    private final TaskRepository taskRepository;
+
+    public TaskCounterService(ProjectTaskCounterRepository counterRepository, TaskRepository taskRepository) {
+        this.counterRepository = counterRepository;
+        this.taskRepository = taskRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void createCounters(Long projectId) {
+        counterRepository.save(new ProjectTaskCounter(projectId));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteCounters(Long projectId) {
+        counterRepository.deleteByProjectId(projectId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockCounters(Long projectId) {
+        if (counterRepository.lockByProjectId(projectId).isEmpty()) {
+            throw new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario.");
+        }
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskCreated(Long projectId, TaskStatus status) {
+        long[] deltas = new long[TaskStatus.values().length];
+        deltas[status.ordinal()]++;
+        apply(projectId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskDeleted(Long projectId, TaskStatus status) {
+        long[] deltas = new long[TaskStatus.values().length];
+        deltas[status.ordinal()]--;
+        apply(projectId, deltas);
+    }
+
+    // Se aplica aunque el estado no cambie para avanzar la revisión de la colección.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void taskUpdated(Long projectId, TaskStatus from, TaskStatus to) {
+        long[] deltas = new long[TaskStatus.values().length];
+        deltas[from.ordinal()]--;
+        deltas[to.ordinal()]++;
+        apply(projectId, deltas);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksStatusChanged(Long projectId, Map<TaskStatus, Long> countsByPreviousStatus, TaskStatus to) {
+        long[] deltas = new long[TaskStatus.values().length];
+        countsByPreviousStatus.forEach((from, count) -> {
+            deltas[from.ordinal()] -= count;
+            deltas[to.ordinal()] += count;
+        });
+        apply(projectId, deltas);
+    }
+
+    // Cambios que no mueven los contadores (p. ej. marcar tareas vencidas) pero sí invalidan los listados.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void tasksTouched(Collection<Long> projectIds) {
+        if (!projectIds.isEmpty()) {
+            counterRepository.bumpRevisions(projectIds);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long getTasksRevision(Long projectId, Long ownerId) {
+        return counterRepository.findRevisionByProjectIdAndOwnerId(projectId, ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario."));
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProjectTaskSummaryDTO> getSummariesByOwner(Long ownerId) {
+        List<ProjectTaskCounter> counters = counterRepository.findByOwnerId(ownerId);
+        Map<Long, Long> overdue = countOverdue(counters.stream().map(ProjectTaskCounter::getProjectId).collect(Collectors.toList()));
+        return counters.stream()
+                .map(counter -> toSummary(counter, overdue.getOrDefault(counter.getProjectId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectTaskSummaryDTO getSummary(Long projectId, Long ownerId) {
+        ProjectTaskCounter counter = counterRepository.findByProjectIdAndOwnerId(projectId, ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario con ID: " + projectId));
+        return toSummary(counter, countOverdue(List.of(projectId)).getOrDefault(projectId, 0L));
+    }
+
+    // Reconstruye los contadores de los proyectos que aún no los tienen (datos previos a esta tabla).
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillMissingCounters() {
+        List<Long> projectIds = counterRepository.findProjectIdsWithoutCounters();
+        for (Long projectId : projectIds) {
+            ProjectTaskCounter counter = new ProjectTaskCounter(projectId);
+            for (Object[] row : taskRepository.countByStatusInProject(projectId)) {
+                long count = (Long) row[1];
+                switch ((TaskStatus) row[0]) {
+                    case PENDING -> counter.setPending(count);
+                    case IN_PROGRESS -> counter.setInProgress(count);
+                    case COMPLETED -> counter.setCompleted(count);
+                    case CANCELLED -> counter.setCancelled(count);
+                }
+            }
+            counterRepository.save(counter);
+        }
+        if (!projectIds.isEmpty()) {
+            log.info("Contadores de tareas reconstruidos para {} proyectos", projectIds.size());
+        }
+    }
+
+    private void apply(Long projectId, long[] deltas) {
+        counterRepository.adjust(projectId,
+                deltas[TaskStatus.PENDING.ordinal()],
+                deltas[TaskStatus.IN_PROGRESS.ordinal()],
+                deltas[TaskStatus.COMPLETED.ordinal()],
+                deltas[TaskStatus.CANCELLED.ordinal()]);
+    }
+
+    private Map<Long, Long> countOverdue(List<Long> projectIds) {
+        Map<Long, Long> overdue = new HashMap<>();
+        if (projectIds.isEmpty()) {
+            return overdue;
+        }
+        for (Object[] row : taskRepository.countOverdueByProjectIds(projectIds, OPEN_STATUSES, LocalDate.now())) {
+            overdue.put((Long) row[0], (Long) row[1]);
+        }
+        return overdue;
+    }
+
+    private ProjectTaskSummaryDTO toSummary(ProjectTaskCounter counter, long overdue) {
+        return new ProjectTaskSummaryDTO(counter.getProjectId(), counter.getPending(), counter.getInProgress(),
+                counter.getCompleted(), counter.getCancelled(), overdue);
+    }
+}
@@ -1,104 +1,266 @@
 package co.cenitiumdev.projectmanagementapi.services;
 
+import co.cenitiumdev.projectmanagementapi.DTOs.BulkTaskStatusUpdateDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskExportDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
 import co.cenitiumdev.projectmanagementapi.exceptions.ResourceNotFoundException;
-import co.cenitiumdev.projectmanagementapi.models.Project;
 import co.cenitiumdev.projectmanagementapi.models.Task;
-import co.cenitiumdev.projectmanagementapi.models.User;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskChangeType;
 import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import co.cenitiumdev.projectmanagementapi.services.events.TaskChanged;
 import co.cenitiumdev.projectmanagementapi.services.repositories.ProjectRepository;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskFilter;
 import co.cenitiumdev.projectmanagementapi.services.repositories.TaskRepository;
-import co.cenitiumdev.projectmanagementapi.services.repositories.UserRepository;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskState;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocument;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocumentDeleted;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocumentSaved;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import co.cenitiumdev.projectmanagementapi.utils.ETags;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class TaskService {
 
+    public static final String SORT_BY_ID = "id";
+    public static final String SORT_BY_DUE_DATE = "dueDate";
+
+    private static final int BULK_UPDATE_CHUNK_SIZE = 1000;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
-    private final UserRepository userRepository;
+    private final TaskCounterService taskCounterService;
+    private final ChangeLogService changeLogService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository, UserRepository userRepository) {
+    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository, TaskCounterService taskCounterService,
+                       ChangeLogService changeLogService, ApplicationEventPublisher eventPublisher) {
         this.taskRepository = taskRepository;
         this.projectRepository = projectRepository;
-        this.userRepository = userRepository;
+        this.taskCounterService = taskCounterService;
+        this.changeLogService = changeLogService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    public Task createTask(Long projectId, Task task, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario propietario no encontrado: " + ownerUsername));
-
-        Project project = projectRepository.findByIdAndOwner(projectId, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario."));
+    public Task createTask(Long projectId, Task task, Long ownerId) {
+        requireOwnedProject(projectId, ownerId);
 
-        task.setProject(project);
+        task.setProject(projectRepository.getReferenceById(projectId));
         if (task.getStatus() == null) {
             task.setStatus(TaskStatus.PENDING);
         }
-        return taskRepository.save(task);
+        task.setOverdue(isOverdue(task, LocalDate.now()));
+        Task saved = taskRepository.save(task);
+        taskCounterService.taskCreated(projectId, saved.getStatus());
+        changeLogService.record(ownerId, ChangeEntityType.TASK, saved.getId(), projectId, ChangeOperation.UPSERT);
+        eventPublisher.publishEvent(new SearchDocumentSaved(SearchDocument.of(saved, projectId, ownerId)));
+        eventPublisher.publishEvent(new TaskChanged(projectId, TaskChangeType.CREATED, saved.getId(), saved.getVersion()));
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    public List<Task> getTasksByProjectAndOwner(Long projectId, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario propietario no encontrado: " + ownerUsername));
+    public CursorPageDTO<TaskDTO> getTasksByProjectAndOwner(Long projectId, Long ownerId, String sort, TaskFilter filter,
+                                                          String after, int limit) {
+        int pageSize = CursorCodec.normalizeLimit(limit);
+        requireOwnedProject(projectId, ownerId);
+        if (filter != null && !filter.isEmpty()) {
+            return getFilteredTasks(projectId, sort, filter, after, pageSize);
+        }
 
-        Project project = projectRepository.findByIdAndOwner(projectId, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario."));
+        if (SORT_BY_DUE_DATE.equals(sort)) {
+            List<TaskDTO> rows;
+            if (after == null) {
+                rows = taskRepository.findFirstDtoPageByProjectIdOrderByDueDate(projectId, Limit.of(pageSize + 1));
+            } else {
+                CursorCodec.DueDateCursor cursor = CursorCodec.decodeDueDate(after);
+                rows = taskRepository.findDtoPageByProjectIdOrderByDueDate(
+                        projectId, cursor.dueDate(), cursor.id(), Limit.of(pageSize + 1));
+            }
+            return CursorPageDTO.fromOverfetched(rows, pageSize,
+                    task -> CursorCodec.encodeDueDate(task.getDueDate(), task.getId()));
+        }
+        if (SORT_BY_ID.equals(sort)) {
+            Long afterId = after == null ? 0L : CursorCodec.decodeId(after);
+            return CursorPageDTO.fromOverfetched(
+                    taskRepository.findDtoPageByProjectId(projectId, afterId, Limit.of(pageSize + 1)),
+                    pageSize,
+                    task -> CursorCodec.encodeId(task.getId()));
+        }
+        throw new BadRequestException("Orden no soportado: " + sort + ". Valores permitidos: id, dueDate.");
+    }
 
-        return taskRepository.findByProject(project);
+    // Con filtros la consulta se arma con Criteria; los índices (project_id, status, due_date) y
+    // (project_id, due_date, id) permiten resolverla como un recorrido por rango.
+    private CursorPageDTO<TaskDTO> getFilteredTasks(Long projectId, String sort, TaskFilter filter, String after, int pageSize) {
+        if (filter.getDueFrom() != null && filter.getDueTo() != null && filter.getDueFrom().isAfter(filter.getDueTo())) {
+            throw new BadRequestException("dueFrom no puede ser posterior a dueTo.");
+        }
+        if (SORT_BY_DUE_DATE.equals(sort)) {
+            CursorCodec.DueDateCursor cursor = after == null ? null : CursorCodec.decodeDueDate(after);
+            List<TaskDTO> rows = taskRepository.findFilteredDtoPage(projectId, filter, true,
+                    cursor == null ? null : cursor.dueDate(), cursor == null ? null : cursor.id(), pageSize + 1);
+            return CursorPageDTO.fromOverfetched(rows, pageSize,
+                    task -> CursorCodec.encodeDueDate(task.getDueDate(), task.getId()));
+        }
+        if (SORT_BY_ID.equals(sort)) {
+            Long afterId = after == null ? null : CursorCodec.decodeId(after);
+            List<TaskDTO> rows = taskRepository.findFilteredDtoPage(projectId, filter, false, null, afterId, pageSize + 1);
+            return CursorPageDTO.fromOverfetched(rows, pageSize, task -> CursorCodec.encodeId(task.getId()));
+        }
+        throw new BadRequestException("Orden no soportado: " + sort + ". Valores permitidos: id, dueDate.");
     }
 
-    @Transactional(readOnly = true)
-    public Optional<Task> getTaskByIdAndProjectAndOwner(Long taskId, Long projectId, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario propietario no encontrado: " + ownerUsername));
+    public static TaskFilter parseFilter(List<String> statuses, LocalDate dueFrom, LocalDate dueTo) {
+        Set<TaskStatus> parsed = EnumSet.noneOf(TaskStatus.class);
+        if (statuses != null) {
+            for (String status : statuses) {
+                if (status.isBlank()) {
+                    continue;
+                }
+                try {
+                    parsed.add(TaskStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new BadRequestException("Estado no soportado: " + status + ". Valores permitidos: "
+                            + Arrays.toString(TaskStatus.values()) + ".");
+                }
+            }
+        }
+        return new TaskFilter(parsed, dueFrom, dueTo);
+    }
 
-        Project project = projectRepository.findByIdAndOwner(projectId, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario."));
+    // Recorre las tareas con un cursor JDBC dentro de la transacción; nada se acumula en memoria.
+    @Transactional(readOnly = true)
+    public void exportTasks(Long ownerId, Long projectId, Consumer<TaskExportDTO> consumer) {
+        if (projectId != null) {
+            requireOwnedProject(projectId, ownerId);
+        }
+        try (Stream<TaskExportDTO> tasks = projectId == null
+                ? taskRepository.streamExportByOwnerId(ownerId)
+                : taskRepository.streamExportByProjectIdAndOwnerId(projectId, ownerId)) {
+            tasks.forEach(consumer);
+        }
+    }
 
-        return taskRepository.findByIdAndProject(taskId, project);
+    @Transactional(readOnly = true)
+    public Optional<TaskDTO> getTaskByIdAndProjectAndOwner(Long taskId, Long projectId, Long ownerId) {
+        return taskRepository.findDtoByIdAndProjectIdAndOwnerId(taskId, projectId, ownerId);
     }
 
 
     @Transactional
-    public Task updateTask(Long taskId, Long projectId, Task updatedTask, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario propietario no encontrado: " + ownerUsername));
-
-        Project project = projectRepository.findByIdAndOwner(projectId, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario."));
-
-        return taskRepository.findByIdAndProject(taskId, project)
+    public Task updateTask(Long taskId, Long projectId, Task updatedTask, Long ownerId, Long expectedVersion) {
+        return taskRepository.findByIdAndProjectIdAndProjectOwnerId(taskId, projectId, ownerId)
                 .map(existingTask -> {
+                    ETags.checkVersion(expectedVersion, existingTask.getVersion());
+                    TaskStatus previousStatus = existingTask.getStatus();
                     existingTask.setName(updatedTask.getName());
                     existingTask.setDescription(updatedTask.getDescription());
                     existingTask.setDueDate(updatedTask.getDueDate());
                     if (updatedTask.getStatus() != null) {
                         existingTask.setStatus(updatedTask.getStatus());
                     }
-                    return taskRepository.save(existingTask);
+                    existingTask.setOverdue(isOverdue(existingTask, LocalDate.now()));
+                    taskCounterService.taskUpdated(projectId, previousStatus, existingTask.getStatus());
+                    changeLogService.record(ownerId, ChangeEntityType.TASK, taskId, projectId, ChangeOperation.UPSERT);
+                    eventPublisher.publishEvent(new SearchDocumentSaved(SearchDocument.of(existingTask, projectId, ownerId)));
+                    // El flush adelanta el UPDATE para que el evento lleve la versión nueva.
+                    Task saved = taskRepository.saveAndFlush(existingTask);
+                    eventPublisher.publishEvent(new TaskChanged(projectId, TaskChangeType.UPDATED, taskId, saved.getVersion()));
+                    return saved;
                 })
                 .orElseThrow(() -> new ResourceNotFoundException("Tarea no encontrada o no pertenece al proyecto/usuario."));
     }
 
+    // Una sentencia UPDATE por bloque de ids. Por filtro, las tareas que lo cumplen se bloquean y se
+    // actualizan igualmente por bloques de sus ids.
     @Transactional
-    public void deleteTask(Long taskId, Long projectId, String ownerUsername) {
-        User owner = userRepository.findByUsername(ownerUsername)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario propietario no encontrado: " + ownerUsername));
-
-        Project project = projectRepository.findByIdAndOwner(projectId, owner)
-                .orElseThrow(() -> new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario."));
-
-        taskRepository.findByIdAndProject(taskId, project)
-                .ifPresentOrElse(
-                        taskRepository::delete,
-                        () -> { throw new ResourceNotFoundException("Tarea no encontrada o no pertenece al proyecto/usuario."); }
-                );
+    public int updateTaskStatuses(Long projectId, BulkTaskStatusUpdateDTO request, Long ownerId) {
+        TaskFilter filter = new TaskFilter(request.getStatuses(), request.getDueFrom(), request.getDueTo());
+        boolean byIds = request.getTaskIds() != null && !request.getTaskIds().isEmpty();
+        if (!byIds && filter.isEmpty()) {
+            throw new BadRequestException("Debe indicar taskIds o al menos un filtro (statuses, dueFrom, dueTo).");
+        }
+        requireOwnedProject(projectId, ownerId);
+        taskCounterService.lockCounters(projectId);
+
+        if (!byIds) {
+            return updateStatusChunk(projectId, null, filter, request.getTargetStatus(), ownerId);
+        }
+        List<Long> taskIds = new ArrayList<>(new LinkedHashSet<>(request.getTaskIds()));
+        int updated = 0;
+        for (int from = 0; from < taskIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            List<Long> chunk = taskIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, taskIds.size()));
+            updated += updateStatusChunk(projectId, chunk, filter, request.getTargetStatus(), ownerId);
+        }
+        return updated;
+    }
+
+    private int updateStatusChunk(Long projectId, List<Long> taskIds, TaskFilter filter, TaskStatus targetStatus, Long ownerId) {
+        // Las candidatas quedan bloqueadas y el UPDATE se limita a sus ids: los contadores y el registro
+        // de cambios reflejan exactamente las filas modificadas, aunque otra escritura llegue entre medias.
+        Map<Long, TaskStatus> candidates = taskRepository.lockStatusUpdateCandidates(projectId, taskIds, filter, targetStatus);
+        if (candidates.isEmpty()) {
+            return 0;
+        }
+        Map<TaskStatus, Long> previousStatuses = new EnumMap<>(TaskStatus.class);
+        candidates.values().forEach(status -> previousStatuses.merge(status, 1L, Long::sum));
+        LocalDate overdueBefore = TaskCounterService.OPEN_STATUSES.contains(targetStatus) ? LocalDate.now() : null;
+        List<Long> lockedIds = new ArrayList<>(candidates.keySet());
+        int updated = 0;
+        for (int from = 0; from < lockedIds.size(); from += BULK_UPDATE_CHUNK_SIZE) {
+            updated += taskRepository.updateStatusInProject(projectId,
+                    lockedIds.subList(from, Math.min(from + BULK_UPDATE_CHUNK_SIZE, lockedIds.size())), targetStatus, overdueBefore);
+        }
+        taskCounterService.tasksStatusChanged(projectId, previousStatuses, targetStatus);
+        changeLogService.recordTasks(ownerId, lockedIds, ChangeOperation.UPSERT);
+        eventPublisher.publishEvent(TaskChanged.resync(projectId));
+        return updated;
+    }
+
+    @Transactional
+    public void deleteTask(Long taskId, Long projectId, Long ownerId, Long expectedVersion) {
+        taskCounterService.lockCounters(projectId);
+        TaskState state = taskRepository.findStateForUpdate(taskId, projectId, ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Tarea no encontrada o no pertenece al proyecto/usuario."));
+        ETags.checkVersion(expectedVersion, state.getVersion());
+        taskRepository.deleteByIdAndProjectIdAndOwnerId(taskId, projectId, ownerId);
+        taskCounterService.taskDeleted(projectId, state.getStatus());
+        changeLogService.record(ownerId, ChangeEntityType.TASK, taskId, projectId, ChangeOperation.DELETE);
+        eventPublisher.publishEvent(new SearchDocumentDeleted(SearchResultType.TASK, taskId));
+        eventPublisher.publishEvent(new TaskChanged(projectId, TaskChangeType.DELETED, taskId, state.getVersion()));
+    }
+
+    public static boolean isOverdue(Task task, LocalDate today) {
+        return TaskCounterService.OPEN_STATUSES.contains(task.getStatus()) && task.getDueDate().isBefore(today);
+    }
+
+    @Transactional(readOnly = true)
+    public void requireOwnedProject(Long projectId, Long ownerId) {
+        if (!projectRepository.existsByIdAndOwnerId(projectId, ownerId)) {
+            throw new ResourceNotFoundException("Proyecto no encontrado o no autorizado para el usuario.");
+        }
     }
 }
@@ -1,22 +1,40 @@
 package co.cenitiumdev.projectmanagementapi.services;
 
 import co.cenitiumdev.projectmanagementapi.DTOs.UserRegistrationDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
 import co.cenitiumdev.projectmanagementapi.exceptions.ResourceNotFoundException;
 import co.cenitiumdev.projectmanagementapi.models.User;
+import co.cenitiumdev.projectmanagementapi.security.AuthenticatedUser;
+import co.cenitiumdev.projectmanagementapi.security.JwtPrincipalCache;
+import co.cenitiumdev.projectmanagementapi.security.TokenDenylist;
 import co.cenitiumdev.projectmanagementapi.services.repositories.UserRepository;
+import co.cenitiumdev.projectmanagementapi.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 @Service
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final JwtPrincipalCache principalCache;
+    private final ChangeLogService changeLogService;
+    private final TokenDenylist tokenDenylist;
+    private final JwtUtil jwtUtil;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtPrincipalCache principalCache,
+                       ChangeLogService changeLogService, TokenDenylist tokenDenylist, JwtUtil jwtUtil) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.changeLogService = changeLogService;
+        this.tokenDenylist = tokenDenylist;
+        this.jwtUtil = jwtUtil;
     }
 
     @Transactional
@@ -33,6 +51,33 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(registrationDTO.getPassword()));
         user.setEmail(registrationDTO.getEmail());
         userRepository.save(user);
+        changeLogService.createHead(user.getId());
+    }
+
+    /**
+     * Invocado por DaoAuthenticationProvider tras un login correcto cuando el hash guardado usa un
+     * coste menor que el actual; {@code newPassword} ya viene codificada.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + userDetails.getUsername()));
+        // Los principales en caché no llevan la contraseña: el nuevo hash no los invalida.
+        user.setPassword(newPassword);
+        return new AuthenticatedUser(user.getId(), user.getUsername(), newPassword, null);
+    }
+
+    // Revoca el token con el que se hizo la petición; el resto de sesiones del usuario siguen activas.
+    public void logout(String token, Long userId) {
+        Claims claims = jwtUtil.extractAllClaims(token);
+        if (claims.getId() == null) {
+            // Tokens emitidos antes de incluir el claim "jti": no hay nada que guardar en revoked_tokens.
+            throw new BadRequestException("El token no tiene identificador (jti) y no puede revocarse. "
+                    + "Inicie sesión de nuevo para obtener un token revocable; este dejará de ser válido cuando caduque.");
+        }
+        tokenDenylist.revoke(claims.getId(), userId, claims.getExpiration().toInstant());
+        principalCache.invalidate(token);
     }
 
     public User authenticateUser(String username, String password) {
@@ -0,0 +1,218 @@
+package co.cenitiumdev.projectmanagementapi.services.events;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparte los cambios de tareas confirmados entre los suscriptores SSE de cada proyecto.
+ *
+ * Una suscripción inactiva es solo un SseEmitter en un mapa: no retiene hilos ni conexiones a la
+ * base de datos. Al publicarse un cambio, el hilo que confirmó la transacción solo lo deja en el
+ * buffer acotado de cada suscriptor; el envío lo hace un pool pequeño, así que un cliente lento
+ * nunca frena a quien escribe.
+ *
+ * La escritura en el socket es bloqueante: un cliente con la conexión abierta que no lee retiene
+ * su hilo de envío hasta el timeout de escritura del servidor. Para que no frene a los demás
+ * suscriptores, {@link #checkStalledSenders()} desconecta a los clientes con un envío en curso
+ * desde hace más de {@code tasks.events.send-timeout} y añade un hilo al pool por cada hilo
+ * retenido, hasta {@code tasks.events.max-stalled-senders}. El hilo extra se retira cuando el
+ * envío bloqueado termina.
+ */
+@Component
+public class TaskChangeBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(TaskChangeBroadcaster.class);
+
+    private final Map<Long, Set<TaskChangeSubscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor sender;
+    private final int senderThreads;
+    private final int maxStalledSenders;
+    private final long sendTimeoutNanos;
+    private int stalledSenders;
+    private final int bufferCapacity;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final Counter droppedCounter;
+
+    public TaskChangeBroadcaster(MeterRegistry meterRegistry,
+                                 @Value("${tasks.events.buffer-capacity:64}") int bufferCapacity,
+                                 @Value("${tasks.events.max-subscribers:50000}") int maxSubscribers,
+                                 @Value("${tasks.events.timeout:30m}") Duration timeout,
+                                 @Value("${tasks.events.sender-threads:2}") int senderThreads,
+                                 @Value("${tasks.events.send-timeout:10s}") Duration sendTimeout,
+                                 @Value("${tasks.events.max-stalled-senders:64}") int maxStalledSenders) {
+        this.bufferCapacity = bufferCapacity;
+        this.senderThreads = senderThreads;
+        this.maxStalledSenders = maxStalledSenders;
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // La cola no necesita tope: cada suscriptor tiene como mucho un envío programado.
+        this.sender = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "task-events-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("tasks.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Suscripciones SSE abiertas a cambios de tareas")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("tasks.events.dropped")
+                .description("Suscriptores SSE desconectados por no consumir los eventos a tiempo")
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Long projectId) {
+        return subscribe(projectId, new SseEmitter(timeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Long projectId, SseEmitter emitter) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Demasiadas suscripciones abiertas. Inténtelo de nuevo más tarde.");
+        }
+        TaskChangeSubscription subscription = new TaskChangeSubscription(projectId, emitter, bufferCapacity);
+        subscriptions.compute(projectId, (id, set) -> {
+            Set<TaskChangeSubscription> subscribers = set == null ? ConcurrentHashMap.newKeySet() : set;
+            subscribers.add(subscription);
+            return subscribers;
+        });
+        emitter.onCompletion(() -> unsubscribe(subscription));
+        emitter.onTimeout(() -> unsubscribe(subscription));
+        emitter.onError(error -> unsubscribe(subscription));
+        // Un primer comentario confirma la suscripción y envía las cabeceras al cliente.
+        dispatch(subscription, subscription.offerHeartbeat());
+        return emitter;
+    }
+
+    // Solo se difunde lo confirmado; un rollback no llega a los clientes.
+    @TransactionalEventListener
+    public void onTaskChanged(TaskChanged change) {
+        Set<TaskChangeSubscription> subscribers = subscriptions.get(change.projectId());
+        if (subscribers == null) {
+            return;
+        }
+        for (TaskChangeSubscription subscription : subscribers) {
+            dispatch(subscription, subscription.offer(change));
+        }
+    }
+
+    // Mantiene vivas las conexiones a través de proxies y detecta los clientes que ya se fueron.
+    @Scheduled(fixedDelayString = "${tasks.events.heartbeat:PT30S}", initialDelayString = "${tasks.events.heartbeat:PT30S}")
+    public void sendHeartbeats() {
+        for (Set<TaskChangeSubscription> subscribers : subscriptions.values()) {
+            for (TaskChangeSubscription subscription : subscribers) {
+                dispatch(subscription, subscription.offerHeartbeat());
+            }
+        }
+    }
+
+    // Da por perdidos a los clientes bloqueados en un envío y repone los hilos que retienen.
+    @Scheduled(fixedDelayString = "${tasks.events.stall-check-interval:PT1S}", initialDelayString = "${tasks.events.stall-check-interval:PT1S}")
+    public void checkStalledSenders() {
+        long now = System.nanoTime();
+        for (Set<TaskChangeSubscription> subscribers : subscriptions.values()) {
+            for (TaskChangeSubscription subscription : subscribers) {
+                if (subscription.markStalled(now, sendTimeoutNanos)) {
+                    droppedCounter.increment();
+                    log.debug("Suscriptor SSE del proyecto {} desconectado por un envío bloqueado", subscription.getProjectId());
+                    unsubscribe(subscription);
+                    resizeSender(1);
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        subscriptions.values().forEach(subscribers -> subscribers.forEach(subscription -> subscription.getEmitter().complete()));
+    }
+
+    private void dispatch(TaskChangeSubscription subscription, TaskChangeSubscription.Offer offer) {
+        switch (offer) {
+            case QUEUED -> {
+            }
+            case SCHEDULE -> {
+                try {
+                    sender.execute(() -> {
+                        try {
+                            if (!subscription.drain()) {
+                                unsubscribe(subscription);
+                            }
+                        } finally {
+                            // El envío bloqueado terminó: se cierra la conexión y se retira el hilo extra.
+                            if (subscription.isStalled()) {
+                                resizeSender(-1);
+                                subscription.getEmitter().complete();
+                            }
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    unsubscribe(subscription);
+                }
+            }
+            case DROP -> {
+                droppedCounter.increment();
+                log.debug("Suscriptor SSE del proyecto {} desconectado por no consumir eventos", subscription.getProjectId());
+                unsubscribe(subscription);
+                subscription.getEmitter().complete();
+            }
+        }
+    }
+
+    // Con una cola sin tope el pool no pasa del núcleo: para reponer un hilo hay que subir el núcleo.
+    private synchronized void resizeSender(int delta) {
+        stalledSenders += delta;
+        if (delta > 0 && stalledSenders > maxStalledSenders) {
+            log.warn("{} hilos de envío SSE bloqueados por clientes que no leen; no se añaden más", stalledSenders);
+        }
+        int size = senderThreads + Math.min(stalledSenders, maxStalledSenders);
+        if (size > sender.getMaximumPoolSize()) {
+            sender.setMaximumPoolSize(size);
+            sender.setCorePoolSize(size);
+        } else {
+            sender.setCorePoolSize(size);
+            sender.setMaximumPoolSize(size);
+        }
+    }
+
+    private void unsubscribe(TaskChangeSubscription subscription) {
+        subscription.close();
+        boolean[] removed = new boolean[1];
+        subscriptions.computeIfPresent(subscription.getProjectId(), (id, subscribers) -> {
+            removed[0] = subscribers.remove(subscription);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+}
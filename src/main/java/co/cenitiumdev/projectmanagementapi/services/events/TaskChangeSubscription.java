@@ -0,0 +1,188 @@
+package co.cenitiumdev.projectmanagementapi.services.events;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskChangeDTO;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskChangeType;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Un suscriptor SSE con su buffer de eventos pendientes. El buffer guarda como mucho un evento por
+ * tarea (el último), así que una ráfaga de cambios sobre la misma tarea se entrega como uno solo.
+ * Si aun así se llena, se vacía y se sustituye por un único RESYNC; si el cliente sigue sin leer
+ * mientras llegan otros {@code capacity} eventos, se le desconecta.
+ *
+ * Sin eventos pendientes no ocupa ningún hilo: el envío lo hace el pool del broadcaster y solo hay
+ * un envío en curso por suscriptor. La escritura en el socket es bloqueante, así que cada envío
+ * anota cuándo empezó; si un cliente deja de leer, el broadcaster lo detecta con
+ * {@link #markStalled} y lo da por perdido sin esperar al timeout de escritura.
+ */
+class TaskChangeSubscription {
+
+    enum Offer {
+        /** El evento quedó en el buffer y hay que programar un envío. */
+        SCHEDULE,
+        /** El evento quedó en el buffer y ya hay un envío programado. */
+        QUEUED,
+        /** El suscriptor no da abasto y debe desconectarse. */
+        DROP
+    }
+
+    private final Long projectId;
+    private final SseEmitter emitter;
+    private final int capacity;
+
+    // Todo el estado mutable se protege con el monitor de la suscripción.
+    private final Map<Long, TaskChangeDTO> pending = new LinkedHashMap<>();
+    private boolean resync;
+    private int missedSinceResync;
+    private boolean heartbeat;
+    private boolean scheduled;
+    private boolean closed;
+    private boolean stalled;
+    // Momento (System.nanoTime) en que empezó el envío en curso; 0 si no hay ninguno.
+    private volatile long sendStartedAt;
+
+    TaskChangeSubscription(Long projectId, SseEmitter emitter, int capacity) {
+        this.projectId = projectId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+    }
+
+    Long getProjectId() {
+        return projectId;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    synchronized Offer offer(TaskChanged change) {
+        if (closed) {
+            return Offer.QUEUED;
+        }
+        if (resync) {
+            // Ya se pedirá al cliente que relea todo: el evento no aporta nada, pero cuenta como retraso.
+            if (++missedSinceResync > capacity) {
+                return Offer.DROP;
+            }
+        } else if (change.type() == TaskChangeType.RESYNC) {
+            requestResync();
+        } else {
+            pending.remove(change.taskId());
+            pending.put(change.taskId(), new TaskChangeDTO(change.type(), change.taskId(), change.version()));
+            if (pending.size() > capacity) {
+                requestResync();
+            }
+        }
+        return schedule();
+    }
+
+    synchronized Offer offerHeartbeat() {
+        if (closed) {
+            return Offer.QUEUED;
+        }
+        heartbeat = true;
+        return schedule();
+    }
+
+    /**
+     * Envía lo pendiente hasta vaciar el buffer. Devuelve false si la conexión falló y el
+     * suscriptor debe darse de baja.
+     */
+    boolean drain() {
+        while (true) {
+            List<TaskChangeDTO> batch;
+            boolean sendResync;
+            boolean sendHeartbeat;
+            synchronized (this) {
+                if (closed || (pending.isEmpty() && !resync && !heartbeat)) {
+                    scheduled = false;
+                    return !closed;
+                }
+                batch = new ArrayList<>(pending.values());
+                pending.clear();
+                sendResync = resync;
+                sendHeartbeat = heartbeat;
+                resync = false;
+                missedSinceResync = 0;
+                heartbeat = false;
+            }
+            try {
+                if (sendResync) {
+                    send(new TaskChangeDTO(TaskChangeType.RESYNC, null, null));
+                } else {
+                    for (TaskChangeDTO change : batch) {
+                        send(change);
+                    }
+                }
+                if (sendHeartbeat && batch.isEmpty() && !sendResync) {
+                    send(SseEmitter.event().comment("ping"));
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                return false;
+            }
+        }
+    }
+
+    synchronized void close() {
+        closed = true;
+        pending.clear();
+    }
+
+    /**
+     * Cierra la suscripción si lleva más de {@code deadlineNanos} bloqueada en un mismo envío.
+     * Devuelve true solo la primera vez, cuando el hilo que envía queda retenido por este cliente.
+     */
+    boolean markStalled(long now, long deadlineNanos) {
+        long startedAt = sendStartedAt;
+        if (startedAt == 0 || now - startedAt < deadlineNanos) {
+            return false;
+        }
+        synchronized (this) {
+            if (stalled) {
+                return false;
+            }
+            stalled = true;
+            close();
+            return true;
+        }
+    }
+
+    synchronized boolean isStalled() {
+        return stalled;
+    }
+
+    private void send(TaskChangeDTO change) throws IOException {
+        send(SseEmitter.event().name("task").data(change, MediaType.APPLICATION_JSON));
+    }
+
+    private void send(SseEmitter.SseEventBuilder event) throws IOException {
+        sendStartedAt = System.nanoTime();
+        try {
+            emitter.send(event);
+        } finally {
+            sendStartedAt = 0;
+        }
+    }
+
+    private void requestResync() {
+        pending.clear();
+        resync = true;
+        missedSinceResync = 0;
+    }
+
+    private Offer schedule() {
+        if (scheduled) {
+            return Offer.QUEUED;
+        }
+        scheduled = true;
+        return Offer.SCHEDULE;
+    }
+}
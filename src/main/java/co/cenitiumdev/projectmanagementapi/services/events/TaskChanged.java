@@ -0,0 +1,10 @@
+package co.cenitiumdev.projectmanagementapi.services.events;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskChangeType;
+
+public record TaskChanged(Long projectId, TaskChangeType type, Long taskId, Long version) {
+
+    public static TaskChanged resync(Long projectId) {
+        return new TaskChanged(projectId, TaskChangeType.RESYNC, null, null);
+    }
+}
@@ -0,0 +1,30 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.ChangeLogHead;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ChangeLogHeadRepository extends JpaRepository<ChangeLogHead, Long> {
+
+    // Inserta sin el select previo que haría save() con un id asignado.
+    @Modifying
+    @Query("insert into ChangeLogHead (ownerId, lastSeq, compactedSeq) values (:ownerId, 0, 0)")
+    int insert(@Param("ownerId") Long ownerId);
+
+    @Modifying
+    @Query("update ChangeLogHead h set h.lastSeq = h.lastSeq + :count where h.ownerId = :ownerId")
+    int advance(@Param("ownerId") Long ownerId, @Param("count") long count);
+
+    @Modifying
+    @Query("update ChangeLogHead h set h.compactedSeq = :seq where h.ownerId = :ownerId and h.compactedSeq < :seq")
+    int raiseCompactedSeq(@Param("ownerId") Long ownerId, @Param("seq") long seq);
+
+    @Modifying
+    @Query("insert into ChangeLogHead (ownerId, lastSeq, compactedSeq) select u.id, 0, 0 from User u " +
+            "where not exists (select h.ownerId from ChangeLogHead h where h.ownerId = u.id)")
+    int createMissingHeads();
+}
@@ -0,0 +1,12 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+
+public interface ChangeLogKey {
+
+    Long getId();
+
+    ChangeEntityType getEntityType();
+
+    Long getEntityId();
+}
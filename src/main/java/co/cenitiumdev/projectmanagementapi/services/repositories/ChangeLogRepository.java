@@ -0,0 +1,69 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.ChangeLogEntry;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    // La entrada toma el seq recién reservado en la cabeza, sin leerlo antes.
+    @Modifying
+    @Query("insert into ChangeLogEntry (ownerId, seq, entityType, entityId, projectId, operation, changedAt) " +
+            "select h.ownerId, h.lastSeq, :entityType, :entityId, :projectId, :operation, :changedAt " +
+            "from ChangeLogHead h where h.ownerId = :ownerId")
+    int appendAtHead(@Param("ownerId") Long ownerId,
+                     @Param("entityType") ChangeEntityType entityType,
+                     @Param("entityId") Long entityId,
+                     @Param("projectId") Long projectId,
+                     @Param("operation") ChangeOperation operation,
+                     @Param("changedAt") Instant changedAt);
+
+    // Una entrada por tarea en una sola sentencia, numeradas tras los :count seq reservados.
+    @Modifying
+    @Query("insert into ChangeLogEntry (ownerId, seq, entityType, entityId, projectId, operation, changedAt) " +
+            "select h.ownerId, h.lastSeq - :count + row_number() over (order by t.id), " +
+            "co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType.TASK, t.id, t.project.id, :operation, :changedAt " +
+            "from Task t, ChangeLogHead h where h.ownerId = :ownerId and t.id in :taskIds")
+    int appendTasksAtHead(@Param("ownerId") Long ownerId,
+                          @Param("taskIds") Collection<Long> taskIds,
+                          @Param("count") long count,
+                          @Param("operation") ChangeOperation operation,
+                          @Param("changedAt") Instant changedAt);
+
+    @Query("select c from ChangeLogEntry c where c.ownerId = :ownerId and c.seq > :since order by c.seq")
+    List<ChangeLogEntry> findPageByOwnerId(@Param("ownerId") Long ownerId, @Param("since") long since, Limit limit);
+
+    @Query("select c.id as id, c.entityType as entityType, c.entityId as entityId from ChangeLogEntry c " +
+            "where c.id > :afterId order by c.id")
+    List<ChangeLogKey> findKeysAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Modifying
+    @Query("delete from ChangeLogEntry c where c.entityType = :entityType and c.entityId in :entityIds " +
+            "and c.id <= :upToId and c.id not in :keepIds")
+    int deleteSuperseded(@Param("entityType") ChangeEntityType entityType,
+                         @Param("entityIds") Collection<Long> entityIds,
+                         @Param("upToId") Long upToId,
+                         @Param("keepIds") Collection<Long> keepIds);
+
+    @Query("select c.ownerId, max(c.seq) from ChangeLogEntry c " +
+            "where c.operation = co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation.DELETE " +
+            "and c.changedAt < :cutoff group by c.ownerId")
+    List<Object[]> findExpiredTombstoneSeqs(@Param("cutoff") Instant cutoff);
+
+    @Modifying
+    @Query("delete from ChangeLogEntry c " +
+            "where c.operation = co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation.DELETE " +
+            "and c.changedAt < :cutoff")
+    int deleteExpiredTombstones(@Param("cutoff") Instant cutoff);
+}
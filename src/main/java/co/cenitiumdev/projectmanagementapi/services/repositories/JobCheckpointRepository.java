@@ -0,0 +1,20 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.JobCheckpoint;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+
+    // El bloqueo serializa a las instancias que ejecuten el mismo proceso a la vez.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from JobCheckpoint c where c.name = :name")
+    Optional<JobCheckpoint> findForUpdate(@Param("name") String name);
+}
@@ -0,0 +1,20 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+public interface OverdueScanRow {
+
+    Long getId();
+
+    Long getProjectId();
+
+    Long getOwnerId();
+
+    LocalDate getDueDate();
+
+    TaskStatus getStatus();
+
+    boolean isOverdue();
+}
@@ -1,18 +1,58 @@
 package co.cenitiumdev.projectmanagementapi.services.repositories;
 
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO;
 import co.cenitiumdev.projectmanagementapi.models.Project;
-import co.cenitiumdev.projectmanagementapi.models.User;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocument;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
-    List<Project> findByOwner(User owner);
+    @Query("select new co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO(p.id, p.name, p.description, p.startDate, p.endDate, p.version) " +
+            "from Project p where p.owner.id = :ownerId and p.id > :afterId order by p.id")
+    List<ProjectDTO> findDtoPageByOwnerId(@Param("ownerId") Long ownerId, @Param("afterId") Long afterId, Limit limit);
 
-    Optional<Project> findByIdAndOwner(Long id, User owner);
+    @Query("select new co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO(p.id, p.name, p.description, p.startDate, p.endDate, p.version) " +
+            "from Project p where p.id = :id and p.owner.id = :ownerId")
+    Optional<ProjectDTO> findDtoByIdAndOwnerId(@Param("id") Long id, @Param("ownerId") Long ownerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new co.cenitiumdev.projectmanagementapi.services.search.SearchDocument(" +
+            "co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType.PROJECT, p.id, p.id, p.owner.id, p.name, p.description) " +
+            "from Project p")
+    Stream<SearchDocument> streamSearchDocuments();
+
+    // Huella de la colección de proyectos del usuario: cambia con cualquier alta, baja o modificación.
+    @Query("select new co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO(p.id, p.name, p.description, p.startDate, p.endDate, p.version) " +
+            "from Project p where p.id in :projectIds and p.owner.id = :ownerId")
+    List<ProjectDTO> findDtosByIdInAndOwnerId(@Param("projectIds") Collection<Long> projectIds, @Param("ownerId") Long ownerId);
+
+    @Query("select count(p.id), coalesce(sum(p.id), 0), coalesce(sum(p.version), 0) from Project p where p.owner.id = :ownerId")
+    List<Object[]> findCollectionVersionByOwnerId(@Param("ownerId") Long ownerId);
+
+    // Se resuelve por id para aprovechar la caché de segundo nivel; el propietario se compara
+    // sobre el id de la asociación, sin inicializar el proxy del usuario.
+    default Optional<Project> findByIdAndOwnerId(Long id, Long ownerId) {
+        return findById(id).filter(project -> project.getOwner().getId().equals(ownerId));
+    }
+
+    default boolean existsByIdAndOwnerId(Long id, Long ownerId) {
+        return findByIdAndOwnerId(id, ownerId).isPresent();
+    }
 
 }
@@ -0,0 +1,55 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.ProjectTaskCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ProjectTaskCounterRepository extends JpaRepository<ProjectTaskCounter, Long> {
+
+    @Modifying
+    @Query("update ProjectTaskCounter c set c.pending = c.pending + :pending, c.inProgress = c.inProgress + :inProgress, " +
+            "c.completed = c.completed + :completed, c.cancelled = c.cancelled + :cancelled, c.revision = c.revision + 1 " +
+            "where c.projectId = :projectId")
+    int adjust(@Param("projectId") Long projectId,
+               @Param("pending") long pending,
+               @Param("inProgress") long inProgress,
+               @Param("completed") long completed,
+               @Param("cancelled") long cancelled);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c.revision from ProjectTaskCounter c where c.projectId = :projectId")
+    Optional<Long> lockByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("update ProjectTaskCounter c set c.revision = c.revision + 1 where c.projectId in :projectIds")
+    int bumpRevisions(@Param("projectIds") Collection<Long> projectIds);
+
+    @Query("select c from ProjectTaskCounter c join Project p on p.id = c.projectId " +
+            "where p.owner.id = :ownerId order by c.projectId")
+    List<ProjectTaskCounter> findByOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select c from ProjectTaskCounter c join Project p on p.id = c.projectId " +
+            "where c.projectId = :projectId and p.owner.id = :ownerId")
+    Optional<ProjectTaskCounter> findByProjectIdAndOwnerId(@Param("projectId") Long projectId, @Param("ownerId") Long ownerId);
+
+    @Query("select c.revision from ProjectTaskCounter c join Project p on p.id = c.projectId " +
+            "where c.projectId = :projectId and p.owner.id = :ownerId")
+    Optional<Long> findRevisionByProjectIdAndOwnerId(@Param("projectId") Long projectId, @Param("ownerId") Long ownerId);
+
+    @Query("select p.id from Project p where not exists (select c.projectId from ProjectTaskCounter c where c.projectId = p.id)")
+    List<Long> findProjectIdsWithoutCounters();
+
+    @Modifying
+    @Query("delete from ProjectTaskCounter c where c.projectId = :projectId")
+    int deleteByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,25 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskFilter {
+
+    private Set<TaskStatus> statuses;
+
+    private LocalDate dueFrom;
+
+    private LocalDate dueTo;
+
+    public boolean isEmpty() {
+        return (statuses == null || statuses.isEmpty()) && dueFrom == null && dueTo == null;
+    }
+}
@@ -1,17 +1,125 @@
 package co.cenitiumdev.projectmanagementapi.services.repositories;
 
-import co.cenitiumdev.projectmanagementapi.models.Project;
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskExportDTO;
 import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import co.cenitiumdev.projectmanagementapi.services.search.SearchDocument;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
-    List<Task> findByProject(Project project);
+    String TASK_DTO_SELECT = "select new co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO(t.id, t.name, t.description, t.dueDate, t.status, t.version, t.overdue) ";
 
-    Optional<Task> findByIdAndProject(Long id, Project project);
-}
\ No newline at end of file
+    @Query(TASK_DTO_SELECT + "from Task t where t.project.id = :projectId and t.id > :afterId order by t.id")
+    List<TaskDTO> findDtoPageByProjectId(@Param("projectId") Long projectId, @Param("afterId") Long afterId, Limit limit);
+
+    @Query(TASK_DTO_SELECT + "from Task t where t.project.id = :projectId order by t.dueDate, t.id")
+    List<TaskDTO> findFirstDtoPageByProjectIdOrderByDueDate(@Param("projectId") Long projectId, Limit limit);
+
+    @Query(TASK_DTO_SELECT + "from Task t where t.project.id = :projectId " +
+            "and (t.dueDate > :afterDueDate or (t.dueDate = :afterDueDate and t.id > :afterId)) " +
+            "order by t.dueDate, t.id")
+    List<TaskDTO> findDtoPageByProjectIdOrderByDueDate(@Param("projectId") Long projectId,
+                                                       @Param("afterDueDate") LocalDate afterDueDate,
+                                                       @Param("afterId") Long afterId,
+                                                       Limit limit);
+
+    String TASK_EXPORT_SELECT = "select new co.cenitiumdev.projectmanagementapi.DTOs.TaskExportDTO(" +
+            "p.id, t.id, t.name, t.description, t.dueDate, t.status) ";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(TASK_EXPORT_SELECT + "from Task t join t.project p where p.owner.id = :ownerId")
+    Stream<TaskExportDTO> streamExportByOwnerId(@Param("ownerId") Long ownerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(TASK_EXPORT_SELECT + "from Task t join t.project p where p.id = :projectId and p.owner.id = :ownerId")
+    Stream<TaskExportDTO> streamExportByProjectIdAndOwnerId(@Param("projectId") Long projectId, @Param("ownerId") Long ownerId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new co.cenitiumdev.projectmanagementapi.services.search.SearchDocument(" +
+            "co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType.TASK, t.id, p.id, p.owner.id, t.name, t.description) " +
+            "from Task t join t.project p")
+    Stream<SearchDocument> streamSearchDocuments();
+
+    @Query(TASK_DTO_SELECT + "from Task t join t.project p where t.id in :taskIds and p.owner.id = :ownerId")
+    List<TaskDTO> findDtosByIdInAndOwnerId(@Param("taskIds") Collection<Long> taskIds, @Param("ownerId") Long ownerId);
+
+    Optional<Task> findByIdAndProjectIdAndProjectOwnerId(Long id, Long projectId, Long ownerId);
+
+    @Query(TASK_DTO_SELECT + "from Task t join t.project p " +
+            "where t.id = :taskId and p.id = :projectId and p.owner.id = :ownerId")
+    Optional<TaskDTO> findDtoByIdAndProjectIdAndOwnerId(@Param("taskId") Long taskId,
+                                                        @Param("projectId") Long projectId,
+                                                        @Param("ownerId") Long ownerId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t.status as status, t.version as version from Task t where t.id = :taskId and t.project.id = :projectId " +
+            "and exists (select p.id from Project p where p.id = :projectId and p.owner.id = :ownerId)")
+    Optional<TaskState> findStateForUpdate(@Param("taskId") Long taskId,
+                                           @Param("projectId") Long projectId,
+                                           @Param("ownerId") Long ownerId);
+
+    @Query("select t.status, count(t) from Task t where t.project.id = :projectId group by t.status")
+    List<Object[]> countByStatusInProject(@Param("projectId") Long projectId);
+
+    @Query("select t.project.id, count(t) from Task t where t.project.id in :projectIds " +
+            "and t.status in :statuses and t.dueDate < :today group by t.project.id")
+    List<Object[]> countOverdueByProjectIds(@Param("projectIds") Collection<Long> projectIds,
+                                            @Param("statuses") Collection<TaskStatus> statuses,
+                                            @Param("today") LocalDate today);
+
+    // Recorrido por rango del índice (due_date, id) desde la marca del último escaneo hasta hoy.
+    String OVERDUE_SCAN_SELECT = "select t.id as id, t.project.id as projectId, t.project.owner.id as ownerId, t.dueDate as dueDate, " +
+            "t.status as status, t.overdue as overdue from Task t ";
+
+    @Query(OVERDUE_SCAN_SELECT + "where t.dueDate < :today order by t.dueDate, t.id")
+    List<OverdueScanRow> findFirstOverdueScanPage(@Param("today") LocalDate today, Limit limit);
+
+    @Query(OVERDUE_SCAN_SELECT + "where t.dueDate >= :afterDueDate and t.dueDate < :today " +
+            "and (t.dueDate > :afterDueDate or t.id > :afterId) order by t.dueDate, t.id")
+    List<OverdueScanRow> findOverdueScanPage(@Param("afterDueDate") LocalDate afterDueDate,
+                                             @Param("afterId") Long afterId,
+                                             @Param("today") LocalDate today,
+                                             Limit limit);
+
+    @Modifying
+    @Query("update Task t set t.overdue = true, t.version = t.version + 1 where t.id in :taskIds " +
+            "and t.overdue = false and t.status in :statuses and t.dueDate < :today")
+    int markOverdue(@Param("taskIds") Collection<Long> taskIds,
+                    @Param("statuses") Collection<TaskStatus> statuses,
+                    @Param("today") LocalDate today);
+
+    @Modifying
+    @Query("delete from Task t where t.id = :taskId and t.project.id = :projectId " +
+            "and exists (select p.id from Project p where p.id = :projectId and p.owner.id = :ownerId)")
+    int deleteByIdAndProjectIdAndOwnerId(@Param("taskId") Long taskId,
+                                         @Param("projectId") Long projectId,
+                                         @Param("ownerId") Long ownerId);
+}
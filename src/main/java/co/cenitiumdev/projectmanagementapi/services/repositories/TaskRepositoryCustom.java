@@ -0,0 +1,24 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface TaskRepositoryCustom {
+
+    // Tareas que cambiarían de estado, con su estado actual, en orden de id. Quedan bloqueadas
+    // (select ... for update) hasta el final de la transacción.
+    Map<Long, TaskStatus> lockStatusUpdateCandidates(Long projectId, Collection<Long> taskIds, TaskFilter filter, TaskStatus targetStatus);
+
+    // Página de tareas filtradas, ordenada por id o por (dueDate, id) y posicionada tras el cursor.
+    List<TaskDTO> findFilteredDtoPage(Long projectId, TaskFilter filter, boolean orderByDueDate,
+                                      LocalDate afterDueDate, Long afterId, int limit);
+
+    // overdueBefore: las tareas que venzan antes de esta fecha quedan marcadas como vencidas;
+    // null si el estado destino es cerrado y ninguna puede estarlo.
+    int updateStatusInProject(Long projectId, Collection<Long> taskIds, TaskStatus targetStatus, LocalDate overdueBefore);
+}
@@ -0,0 +1,132 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Map<Long, TaskStatus> lockStatusUpdateCandidates(Long projectId, Collection<Long> taskIds, TaskFilter filter,
+                                                            TaskStatus targetStatus) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> task = query.from(Task.class);
+        Path<Long> id = task.get("id");
+        Path<TaskStatus> status = task.get("status");
+        query.multiselect(id, status)
+                .where(statusUpdatePredicates(cb, task, projectId, taskIds, filter, targetStatus))
+                .orderBy(cb.asc(id));
+
+        Map<Long, TaskStatus> candidates = new LinkedHashMap<>();
+        for (Tuple row : entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList()) {
+            candidates.put(row.get(id), row.get(status));
+        }
+        return candidates;
+    }
+
+    @Override
+    public List<TaskDTO> findFilteredDtoPage(Long projectId, TaskFilter filter, boolean orderByDueDate,
+                                             LocalDate afterDueDate, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskDTO> query = cb.createQuery(TaskDTO.class);
+        Root<Task> task = query.from(Task.class);
+        Path<Long> id = task.get("id");
+        Path<LocalDate> dueDate = task.get("dueDate");
+        query.select(cb.construct(TaskDTO.class,
+                id, task.get("name"), task.get("description"), dueDate, task.get("status"), task.get("version"),
+                task.get("overdue")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get("project").get("id"), projectId));
+        predicates.addAll(filterPredicates(cb, task, filter));
+        if (orderByDueDate) {
+            if (afterDueDate != null) {
+                // La cota dueDate >= cursor es redundante con el OR, pero permite recorrer el índice por rango.
+                predicates.add(cb.greaterThanOrEqualTo(dueDate, afterDueDate));
+                predicates.add(cb.or(
+                        cb.greaterThan(dueDate, afterDueDate),
+                        cb.and(cb.equal(dueDate, afterDueDate), cb.greaterThan(id, afterId))));
+            }
+            query.orderBy(cb.asc(dueDate), cb.asc(id));
+        } else {
+            if (afterId != null) {
+                predicates.add(cb.greaterThan(id, afterId));
+            }
+            query.orderBy(cb.asc(id));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int updateStatusInProject(Long projectId, Collection<Long> taskIds, TaskStatus targetStatus, LocalDate overdueBefore) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        update.set(task.<TaskStatus>get("status"), targetStatus);
+        Path<Long> version = task.get("version");
+        update.set(version, cb.sum(version, 1L));
+        Path<Boolean> overdue = task.get("overdue");
+        if (overdueBefore == null) {
+            update.set(overdue, false);
+        } else {
+            update.set(overdue, cb.<Boolean>selectCase()
+                    .when(cb.lessThan(task.get("dueDate"), overdueBefore), true)
+                    .otherwise(false));
+        }
+        update.where(statusUpdatePredicates(cb, task, projectId, taskIds, null, targetStatus));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private Predicate[] statusUpdatePredicates(CriteriaBuilder cb, Root<Task> task, Long projectId, Collection<Long> taskIds,
+                                               TaskFilter filter, TaskStatus targetStatus) {
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(task.get("project").get("id"), projectId));
+        predicates.add(cb.notEqual(task.get("status"), targetStatus));
+        if (taskIds != null) {
+            predicates.add(task.get("id").in(taskIds));
+        }
+        predicates.addAll(filterPredicates(cb, task, filter));
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Task> task, TaskFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter == null) {
+            return predicates;
+        }
+        if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+            predicates.add(task.get("status").in(filter.getStatuses()));
+        }
+        if (filter.getDueFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(task.get("dueDate"), filter.getDueFrom()));
+        }
+        if (filter.getDueTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(task.get("dueDate"), filter.getDueTo()));
+        }
+        return predicates;
+    }
+}
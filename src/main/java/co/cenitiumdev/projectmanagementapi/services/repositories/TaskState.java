@@ -0,0 +1,10 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+
+public interface TaskState {
+
+    TaskStatus getStatus();
+
+    Long getVersion();
+}
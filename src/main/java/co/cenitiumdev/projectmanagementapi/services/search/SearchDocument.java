@@ -0,0 +1,20 @@
+package co.cenitiumdev.projectmanagementapi.services.search;
+
+import co.cenitiumdev.projectmanagementapi.models.Project;
+import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
+
+/**
+ * Lo que el índice de búsqueda guarda de una tarea o un proyecto. En un proyecto, projectId es
+ * su propio id.
+ */
+public record SearchDocument(SearchResultType type, Long id, Long projectId, Long ownerId, String name, String description) {
+
+    public static SearchDocument of(Task task, Long projectId, Long ownerId) {
+        return new SearchDocument(SearchResultType.TASK, task.getId(), projectId, ownerId, task.getName(), task.getDescription());
+    }
+
+    public static SearchDocument of(Project project, Long ownerId) {
+        return new SearchDocument(SearchResultType.PROJECT, project.getId(), project.getId(), ownerId, project.getName(), project.getDescription());
+    }
+}
@@ -0,0 +1,6 @@
+package co.cenitiumdev.projectmanagementapi.services.search;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
+
+public record SearchDocumentDeleted(SearchResultType type, Long id) {
+}
@@ -0,0 +1,4 @@
+package co.cenitiumdev.projectmanagementapi.services.search;
+
+public record SearchDocumentSaved(SearchDocument document) {
+}
@@ -0,0 +1,262 @@
+package co.cenitiumdev.projectmanagementapi.services.search;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.SearchResultDTO;
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Índice invertido (Lucene) sobre nombre y descripción de tareas y proyectos. Vive solo en
+ * memoria: SearchService lo construye entero al arrancar y después lo mantienen al día sus
+ * eventos. Las escrituras se ven en las búsquedas tras como mucho {@code search.refresh-interval}.
+ *
+ * Cada término de la consulta debe aparecer en el nombre o la descripción, completo o como
+ * prefijo; el nombre pesa más que la descripción y la palabra completa más que el prefijo.
+ */
+@Component
+public class SearchIndex {
+
+    private static final String KEY = "key";
+    private static final String TYPE = "type";
+    private static final String OWNER = "owner";
+    private static final String PROJECT = "project";
+    private static final String ID = "id";
+    private static final String PROJECT_ID = "projectId";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String SORT_KEY = "sortKey";
+
+    private static final int MAX_QUERY_TERMS = 8;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final float NAME_BOOST = 3f;
+    private static final float PREFIX_WEIGHT = 0.5f;
+
+    // Desempate estable entre documentos con la misma puntuación, que también sirve de cursor.
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE, new SortField(SORT_KEY, SortField.Type.LONG));
+
+    private final Analyzer analyzer = new SearchAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ControlledRealTimeReopenThread<IndexSearcher> refreshThread;
+
+    public SearchIndex(@Value("${search.refresh-interval:500ms}") Duration refreshInterval) throws IOException {
+        this.directory = new ByteBuffersDirectory();
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE));
+        this.searcherManager = new SearcherManager(writer, null);
+        this.refreshThread = new ControlledRealTimeReopenThread<>(writer, searcherManager,
+                refreshInterval.toMillis() / 1000.0, 0.01);
+        refreshThread.setName("search-index-refresh");
+        refreshThread.setDaemon(true);
+        refreshThread.start();
+    }
+
+    public void upsert(SearchDocument document) {
+        try {
+            writer.updateDocument(keyTerm(document.type(), document.id()), toLucene(document));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Al borrar un proyecto se borran también sus tareas del índice. */
+    public void delete(SearchResultType type, Long id) {
+        try {
+            writer.deleteDocuments(type == SearchResultType.PROJECT
+                    ? new Term(PROJECT, id.toString())
+                    : keyTerm(type, id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Hace visibles en las búsquedas todas las escrituras anteriores, sin esperar al refresco periódico. */
+    public void refresh() {
+        try {
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    public CursorPageDTO<SearchResultDTO> search(Long ownerId, String text, SearchResultType type, Long projectId,
+                                                 CursorCodec.SearchCursor after, int limit) {
+        Query query = buildQuery(ownerId, text, type, projectId);
+        if (query == null) {
+            return new CursorPageDTO<>(List.of(), null);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                int maxDoc = searcher.getIndexReader().maxDoc();
+                if (maxDoc == 0) {
+                    return new CursorPageDTO<>(List.of(), null);
+                }
+                // Con el último docid posible, el propio documento del cursor (mismos valores de
+                // orden) queda excluido y la página siguiente empieza justo detrás.
+                TopFieldDocs top = after == null
+                        ? searcher.search(query, limit + 1, RANKING, true)
+                        : searcher.searchAfter(new FieldDoc(maxDoc - 1, after.score(), new Object[]{after.score(), after.key()}),
+                                query, limit + 1, RANKING, true);
+                StoredFields storedFields = searcher.storedFields();
+                List<SearchResultDTO> results = new ArrayList<>(top.scoreDocs.length);
+                for (ScoreDoc hit : top.scoreDocs) {
+                    Document stored = storedFields.document(hit.doc);
+                    results.add(new SearchResultDTO(
+                            SearchResultType.valueOf(stored.get(TYPE)),
+                            stored.getField(ID).numericValue().longValue(),
+                            stored.getField(PROJECT_ID).numericValue().longValue(),
+                            stored.get(NAME),
+                            hit.score));
+                }
+                return CursorPageDTO.fromOverfetched(results, limit,
+                        result -> CursorCodec.encodeSearch(result.getScore(), sortKey(result.getType(), result.getId())));
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        refreshThread.close();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Query buildQuery(Long ownerId, String text, SearchResultType type, Long projectId) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(new TermQuery(new Term(OWNER, ownerId.toString())), BooleanClause.Occur.FILTER);
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        if (projectId != null) {
+            query.add(new TermQuery(new Term(PROJECT, projectId.toString())), BooleanClause.Occur.FILTER);
+        }
+        for (String term : terms) {
+            BooleanQuery.Builder matches = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, term)), NAME_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                matches.add(new BoostQuery(new PrefixQuery(new Term(NAME, term)), NAME_BOOST * PREFIX_WEIGHT), BooleanClause.Occur.SHOULD)
+                        .add(new BoostQuery(new PrefixQuery(new Term(DESCRIPTION, term)), PREFIX_WEIGHT), BooleanClause.Occur.SHOULD);
+            }
+            query.add(matches.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken() && terms.size() < MAX_QUERY_TERMS) {
+                terms.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new ArrayList<>(terms);
+    }
+
+    private static Document toLucene(SearchDocument source) {
+        Document document = new Document();
+        document.add(new StringField(KEY, key(source.type(), source.id()), Field.Store.NO));
+        document.add(new StringField(TYPE, source.type().name(), Field.Store.YES));
+        document.add(new StringField(OWNER, source.ownerId().toString(), Field.Store.NO));
+        document.add(new StringField(PROJECT, source.projectId().toString(), Field.Store.NO));
+        document.add(new StoredField(ID, source.id()));
+        document.add(new StoredField(PROJECT_ID, source.projectId()));
+        document.add(new TextField(NAME, source.name(), Field.Store.YES));
+        if (source.description() != null) {
+            document.add(new TextField(DESCRIPTION, source.description(), Field.Store.NO));
+        }
+        document.add(new NumericDocValuesField(SORT_KEY, sortKey(source.type(), source.id())));
+        return document;
+    }
+
+    private static Term keyTerm(SearchResultType type, Long id) {
+        return new Term(KEY, key(type, id));
+    }
+
+    private static String key(SearchResultType type, Long id) {
+        return type.name().charAt(0) + ":" + id;
+    }
+
+    private static long sortKey(SearchResultType type, Long id) {
+        return id * 2 + (type == SearchResultType.PROJECT ? 1 : 0);
+    }
+
+    /** Tokenizador estándar, minúsculas y sin acentos: "Revisión" encuentra "revision" y viceversa. */
+    private static final class SearchAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = new StandardTokenizer();
+            return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer)));
+        }
+
+        @Override
+        protected TokenStream normalize(String fieldName, TokenStream in) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(in));
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package co.cenitiumdev.projectmanagementapi.utils;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica los cursores opacos de la paginación por keyset. Un cursor guarda la
+ * posición del último elemento devuelto: su id, la pareja (fecha de vencimiento, id), o en la
+ * búsqueda la pareja (puntuación, clave del documento).
+ */
+public final class CursorCodec {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private static final String ID_PREFIX = "i:";
+    private static final String DUE_DATE_PREFIX = "d:";
+    private static final String SEARCH_PREFIX = "s:";
+
+    private CursorCodec() {
+    }
+
+    public static int normalizeLimit(int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("El parámetro limit debe ser mayor que 0.");
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static String encodeId(Long id) {
+        return encode(ID_PREFIX + id);
+    }
+
+    public static String encodeDueDate(LocalDate dueDate, Long id) {
+        return encode(DUE_DATE_PREFIX + dueDate + ":" + id);
+    }
+
+    // La puntuación se guarda con sus bits exactos para que la página siguiente empiece justo detrás.
+    public static String encodeSearch(float score, long key) {
+        return encode(SEARCH_PREFIX + Float.floatToIntBits(score) + ":" + key);
+    }
+
+    public static Long decodeId(String cursor) {
+        String value = decode(cursor);
+        if (!value.startsWith(ID_PREFIX)) {
+            throw invalid(cursor, null);
+        }
+        return parseId(value.substring(ID_PREFIX.length()), cursor);
+    }
+
+    public static DueDateCursor decodeDueDate(String cursor) {
+        String value = decode(cursor);
+        int separator = value.lastIndexOf(':');
+        if (!value.startsWith(DUE_DATE_PREFIX) || separator <= DUE_DATE_PREFIX.length()) {
+            throw invalid(cursor, null);
+        }
+        try {
+            LocalDate dueDate = LocalDate.parse(value.substring(DUE_DATE_PREFIX.length(), separator));
+            return new DueDateCursor(dueDate, parseId(value.substring(separator + 1), cursor));
+        } catch (DateTimeParseException e) {
+            throw invalid(cursor, e);
+        }
+    }
+
+    public static SearchCursor decodeSearch(String cursor) {
+        String value = decode(cursor);
+        int separator = value.lastIndexOf(':');
+        if (!value.startsWith(SEARCH_PREFIX) || separator <= SEARCH_PREFIX.length()) {
+            throw invalid(cursor, null);
+        }
+        try {
+            float score = Float.intBitsToFloat(Integer.parseInt(value.substring(SEARCH_PREFIX.length(), separator)));
+            return new SearchCursor(score, parseId(value.substring(separator + 1), cursor));
+        } catch (NumberFormatException e) {
+            throw invalid(cursor, e);
+        }
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor, e);
+        }
+    }
+
+    private static Long parseId(String value, String cursor) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw invalid(cursor, e);
+        }
+    }
+
+    private static BadRequestException invalid(String cursor, Throwable cause) {
+        return new BadRequestException("Cursor de paginación inválido: " + cursor, cause);
+    }
+
+    public record DueDateCursor(LocalDate dueDate, Long id) {
+    }
+
+    public record SearchCursor(float score, long key) {
+    }
+}
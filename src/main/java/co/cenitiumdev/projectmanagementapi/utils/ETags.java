@@ -0,0 +1,45 @@
+package co.cenitiumdev.projectmanagementapi.utils;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.PreconditionFailedException;
+
+import java.util.Objects;
+
+/**
+ * ETags fuertes derivados de la columna @Version de cada entidad, o de una versión de colección
+ * combinada con los parámetros de la página solicitada.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String ofCollection(String collectionVersion, Object... queryParameters) {
+        return "\"" + collectionVersion + "-" + Integer.toHexString(Objects.hash(queryParameters)) + "\"";
+    }
+
+    // Devuelve la versión esperada de un encabezado If-Match, o null si no se envió o es "*".
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            throw new PreconditionFailedException("Encabezado If-Match inválido: " + ifMatch);
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("Encabezado If-Match inválido: " + ifMatch, e);
+        }
+    }
+
+    public static void checkVersion(Long expectedVersion, Long currentVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new PreconditionFailedException("El recurso fue modificado por otra petición (versión actual " + currentVersion + ").");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+-- Esquema inicial: usuarios, proyectos y tareas con los índices de sus consultas.
+
+create table users (
+    id bigint generated by default as identity,
+    email varchar(255) not null unique,
+    password varchar(255) not null,
+    username varchar(255) not null unique,
+    primary key (id)
+);
+
+create table projects (
+    id bigint generated by default as identity,
+    version bigint,
+    name varchar(255) not null,
+    description text,
+    start_date date,
+    end_date date,
+    owner_id bigint not null,
+    primary key (id),
+    constraint fk_projects_owner_id foreign key (owner_id) references users (id)
+);
+
+-- Listado paginado de los proyectos de un usuario (owner_id = ? and id > ?)
+create index idx_projects_owner_id_id on projects (owner_id, id);
+
+create table tasks (
+    id bigint generated by default as identity,
+    version bigint,
+    name varchar(255) not null,
+    description text,
+    due_date date not null,
+    status enum ('CANCELLED', 'COMPLETED', 'IN_PROGRESS', 'PENDING') not null,
+    project_id bigint not null,
+    primary key (id),
+    constraint fk_tasks_project_id foreign key (project_id) references projects (id)
+);
+
+-- Listado de tareas de un proyecto ordenado por id
+create index idx_tasks_project_id_id on tasks (project_id, id);
+-- Listado ordenado por vencimiento y filtro por rango de fechas
+create index idx_tasks_project_id_due_date_id on tasks (project_id, due_date, id);
+-- Filtro por estado (y rango de fechas), cambios de estado masivos y recuento por estado
+create index idx_tasks_project_id_status_due_date on tasks (project_id, status, due_date);
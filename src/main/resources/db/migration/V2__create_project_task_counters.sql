@@ -0,0 +1,11 @@
+-- Contadores de tareas por estado y revisión del listado de cada proyecto.
+
+create table project_task_counters (
+    project_id bigint not null,
+    pending bigint not null,
+    in_progress bigint not null,
+    completed bigint not null,
+    cancelled bigint not null,
+    revision bigint not null,
+    primary key (project_id)
+);
@@ -0,0 +1,14 @@
+-- Marca de tarea vencida y marcas de avance de los procesos programados.
+
+alter table tasks add column overdue boolean default false not null;
+
+-- Recorrido incremental del detector de tareas vencidas
+create index idx_tasks_due_date_id on tasks (due_date, id);
+
+create table job_checkpoints (
+    name varchar(64) not null,
+    mark_date date,
+    mark_id bigint,
+    updated_at timestamp(6) with time zone not null,
+    primary key (name)
+);
@@ -0,0 +1,30 @@
+-- Registro de cambios por usuario para la sincronización incremental (/api/sync).
+
+create table change_log_heads (
+    owner_id bigint not null,
+    last_seq bigint not null,
+    compacted_seq bigint not null,
+    primary key (owner_id)
+);
+
+create table change_log (
+    id bigint generated by default as identity,
+    owner_id bigint not null,
+    seq bigint not null,
+    entity_type enum ('PROJECT', 'TASK') not null,
+    entity_id bigint not null,
+    project_id bigint,
+    operation enum ('DELETE', 'UPSERT') not null,
+    changed_at timestamp(6) with time zone not null,
+    primary key (id),
+    -- Paginación de /api/sync (owner_id = ? and seq > ?)
+    constraint uk_change_log_owner_id_seq unique (owner_id, seq)
+);
+
+-- Compactación: entradas anteriores de la misma entidad
+create index idx_change_log_entity_type_entity_id_id on change_log (entity_type, entity_id, id);
+-- Purga de lápidas caducadas
+create index idx_change_log_operation_changed_at on change_log (operation, changed_at);
+
+insert into change_log_heads (owner_id, last_seq, compacted_seq)
+select id, 0, 0 from users;
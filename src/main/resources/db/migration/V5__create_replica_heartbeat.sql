@@ -0,0 +1,9 @@
+-- Latido para medir el retraso de las réplicas de lectura (ver ReplicaMonitor).
+
+create table replica_heartbeat (
+    id int not null,
+    beat_at timestamp(6) with time zone not null,
+    primary key (id)
+);
+
+insert into replica_heartbeat (id, beat_at) values (1, current_timestamp);
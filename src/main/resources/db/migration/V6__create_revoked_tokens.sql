@@ -0,0 +1,17 @@
+-- Tokens JWT revocados (logout). Se borran al llegar a la expiración del token.
+
+create table revoked_tokens (
+    id bigint generated by default as identity,
+    jti varchar(64) not null,
+    user_id bigint not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked_at timestamp(6) with time zone not null,
+    primary key (id),
+    -- Confirmación de un positivo del filtro de Bloom
+    constraint uk_revoked_tokens_jti unique (jti)
+);
+
+-- Sincronización incremental entre nodos
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+-- Purga de revocaciones caducadas
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,464 @@
+package co.cenitiumdev.projectmanagementapi.benchmark;
+
+import co.cenitiumdev.projectmanagementapi.ProjectManagementApiApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Carga HTTP de extremo a extremo con tasa de llegada fija (modelo abierto). Cada petición se
+ * programa en un instante teórico y su latencia se mide desde ese instante, no desde el envío, de
+ * modo que si la aplicación se atasca el retraso acumulado aparece en los percentiles
+ * (sin "coordinated omission").
+ *
+ * Sin load.baseUrl arranca la aplicación en este mismo proceso con H2 en memoria. La mezcla de
+ * operaciones incluye registros y logins, y el resto es CRUD de proyectos y tareas con la
+ * proporción de lecturas indicada. El informe JSON con los percentiles por endpoint se escribe en
+ * build/reports/load-test, y si se indica load.baseline se compara con otro informe anterior.
+ *
+ * Parámetros (propiedades de sistema): load.baseUrl, load.rate (100 peticiones/s),
+ * load.warmup (10s), load.duration (60s), load.users (20), load.readRatio (0.8),
+ * load.loginRatio (0.02), load.registerRatio (0.01), load.maxInFlight (2000), load.baseline.
+ */
+public class LoadTestHarness {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final String PASSWORD = "secret123";
+
+    private final String configuredBaseUrl = System.getProperty("load.baseUrl");
+    private final int rate = Integer.getInteger("load.rate", 100);
+    private final Duration warmup = Duration.parse("PT" + System.getProperty("load.warmup", "10s"));
+    private final Duration duration = Duration.parse("PT" + System.getProperty("load.duration", "60s"));
+    private final int userCount = Integer.getInteger("load.users", 20);
+    private final double readRatio = Double.parseDouble(System.getProperty("load.readRatio", "0.8"));
+    private final double loginRatio = Double.parseDouble(System.getProperty("load.loginRatio", "0.02"));
+    private final double registerRatio = Double.parseDouble(System.getProperty("load.registerRatio", "0.01"));
+    private final int maxInFlight = Integer.getInteger("load.maxInFlight", 2000);
+    private final String baseline = System.getProperty("load.baseline");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+    private final List<Session> sessions = Collections.synchronizedList(new ArrayList<>());
+    private final Semaphore inFlight = new Semaphore(maxInFlight);
+    private final LongAdder dropped = new LongAdder();
+    private final String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+    private final AtomicInteger userSequence = new AtomicInteger();
+    private String baseUrl;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestHarness().run();
+    }
+
+    private void run() throws Exception {
+        ConfigurableApplicationContext context = null;
+        if (configuredBaseUrl == null) {
+            context = new SpringApplicationBuilder(ProjectManagementApiApplication.class)
+                    .run("--server.port=0",
+                            "--spring.datasource.url=jdbc:h2:mem:load-test",
+                            "--spring.jpa.show-sql=false",
+                            "--logging.level.root=WARN",
+                            // Todas las peticiones salen de la misma IP.
+                            "--login.throttle.ip.capacity=1000000");
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        } else {
+            baseUrl = configuredBaseUrl;
+        }
+        try {
+            for (int i = 0; i < userCount; i++) {
+                Session session = createSession(System.nanoTime()).join();
+                if (!session.isReady()) {
+                    throw new IllegalStateException("No se pudo preparar el usuario " + session.username() + ": " + stats);
+                }
+                sessions.add(session);
+            }
+            System.out.printf("Calentamiento %ds a %d peticiones/s...%n", warmup.toSeconds(), rate);
+            drive(warmup);
+            stats.values().forEach(EndpointStats::reset);
+            dropped.reset();
+
+            System.out.printf("Medición %ds a %d peticiones/s...%n", duration.toSeconds(), rate);
+            drive(duration);
+
+            Map<String, Object> report = report();
+            Path output = write(report);
+            print(report);
+            if (baseline != null) {
+                compare(MAPPER.readTree(Path.of(baseline).toFile()), MAPPER.valueToTree(report));
+            }
+            System.out.println("Informe escrito en " + output.toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /** Programa las llegadas a intervalos fijos y espera a que terminen las que quedan en vuelo. */
+    private void drive(Duration window) throws InterruptedException {
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long total = window.toSeconds() * rate;
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * periodNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            if (!inFlight.tryAcquire()) {
+                dropped.increment();
+                continue;
+            }
+            nextOperation(intended).whenComplete((ignored, error) -> inFlight.release());
+        }
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+    }
+
+    private CompletableFuture<?> nextOperation(long intended) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double dice = random.nextDouble();
+        if (dice < registerRatio) {
+            return createSession(intended).thenAccept(session -> {
+                if (session.isReady()) {
+                    sessions.add(session);
+                }
+            });
+        }
+        Session session = pick(sessions);
+        if (dice < registerRatio + loginRatio) {
+            return login(session.username(), intended).thenAccept(session::setToken);
+        }
+        return random.nextDouble() < readRatio ? read(session, intended) : write(session, intended);
+    }
+
+    private CompletableFuture<?> read(Session session, long intended) {
+        int choice = ThreadLocalRandom.current().nextInt(10);
+        long projectId = session.projectId();
+        Long taskId = session.tasks().peekLast();
+        if (choice < 3) {
+            return send("GET /api/projects", get("/api/projects", session), intended, null);
+        }
+        if (choice < 8 || taskId == null) {
+            return send("GET /api/projects/{id}/tasks", get("/api/projects/" + projectId + "/tasks", session), intended, null);
+        }
+        return send("GET /api/projects/{id}/tasks/{taskId}",
+                get("/api/projects/" + projectId + "/tasks/" + taskId, session), intended, null);
+    }
+
+    private CompletableFuture<?> write(Session session, long intended) {
+        int choice = ThreadLocalRandom.current().nextInt(20);
+        long projectId = session.projectId();
+        String tasksPath = "/api/projects/" + projectId + "/tasks";
+        if (choice < 10 || session.tasks().size() < 2) {
+            return send("POST /api/projects/{id}/tasks", post(tasksPath, session, taskBody()), intended,
+                    body -> session.tasks().addLast(body.get("id").asLong()));
+        }
+        if (choice < 17) {
+            Long taskId = session.tasks().peekFirst();
+            if (taskId == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return send("PUT /api/projects/{id}/tasks/{taskId}",
+                    put(tasksPath + "/" + taskId, session, taskBody()), intended, null);
+        }
+        if (choice < 19) {
+            Long taskId = session.tasks().pollFirst();
+            if (taskId == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return send("DELETE /api/projects/{id}/tasks/{taskId}",
+                    authorized(tasksPath + "/" + taskId, session).DELETE().build(), intended, null);
+        }
+        return send("POST /api/projects", post("/api/projects", session, projectBody()), intended, null);
+    }
+
+    /** Registro, login y primer proyecto de un usuario nuevo, cada paso medido por separado. */
+    private CompletableFuture<Session> createSession(long intended) {
+        String username = "lt" + runId + userSequence.incrementAndGet();
+        Map<String, Object> registration = Map.of("username", username, "password", PASSWORD, "email", username + "@load.test");
+        return send("POST /api/users/register", json("/api/users/register", null, registration).build(), intended, null)
+                .thenCompose(ignored -> login(username, System.nanoTime()))
+                .thenCompose(token -> {
+                    Session session = new Session(username);
+                    session.setToken(token);
+                    return send("POST /api/projects", post("/api/projects", session, projectBody()), System.nanoTime(),
+                            body -> session.setProjectId(body.get("id").asLong()))
+                            .thenApply(ignored -> session);
+                });
+    }
+
+    private CompletableFuture<String> login(String username, long intended) {
+        Map<String, Object> credentials = Map.of("username", username, "password", PASSWORD);
+        return send("POST /api/users/login", json("/api/users/login", null, credentials).build(), intended, null);
+    }
+
+    /**
+     * Envía la petición y registra su latencia desde el instante programado. Si la respuesta es
+     * correcta y hay consumidor, recibe el cuerpo ya parseado.
+     */
+    private CompletableFuture<String> send(String endpoint, HttpRequest request, long intended, Consumer<JsonNode> onBody) {
+        EndpointStats endpointStats = stats.computeIfAbsent(endpoint, key -> new EndpointStats());
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    endpointStats.record(System.nanoTime() - intended, response == null ? -1 : response.statusCode());
+                    if (response == null || response.statusCode() >= 400) {
+                        return null;
+                    }
+                    if (onBody != null) {
+                        try {
+                            onBody.accept(MAPPER.readTree(response.body()));
+                        } catch (Exception e) {
+                            return null;
+                        }
+                    }
+                    return response.body();
+                });
+    }
+
+    private HttpRequest get(String path, Session session) {
+        return authorized(path, session).GET().build();
+    }
+
+    private HttpRequest post(String path, Session session, Map<String, Object> body) {
+        return json(path, session.token(), body).build();
+    }
+
+    private HttpRequest put(String path, Session session, Map<String, Object> body) {
+        return authorized(path, session)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(toJson(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder json(String path, String token, Map<String, Object> body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private HttpRequest.Builder authorized(String path, Session session) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + session.token());
+    }
+
+    private static Map<String, Object> projectBody() {
+        return Map.of("name", "Proyecto de carga", "description", "Generado por el arnés de carga",
+                "startDate", "2026-01-01", "endDate", "2026-12-31");
+    }
+
+    private static Map<String, Object> taskBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String[] statuses = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+        return Map.of("name", "Tarea de carga " + random.nextInt(1000),
+                "description", "Generada por el arnés de carga",
+                "dueDate", LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365)).toString(),
+                "status", statuses[random.nextInt(statuses.length)]);
+    }
+
+    private static String toJson(Object body) {
+        try {
+            return MAPPER.writeValueAsString(body);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T pick(List<T> items) {
+        synchronized (items) {
+            return items.get(ThreadLocalRandom.current().nextInt(items.size()));
+        }
+    }
+
+    private Map<String, Object> report() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("baseUrl", configuredBaseUrl == null ? "in-process" : configuredBaseUrl);
+        config.put("rate", rate);
+        config.put("warmupSeconds", warmup.toSeconds());
+        config.put("durationSeconds", duration.toSeconds());
+        config.put("users", userCount);
+        config.put("readRatio", readRatio);
+        config.put("loginRatio", loginRatio);
+        config.put("registerRatio", registerRatio);
+        config.put("java", Runtime.version().toString());
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> endpoints = new TreeMap<>();
+        Histogram total = new Histogram(MAX_LATENCY_MICROS, 3);
+        long totalErrors = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            endpoints.put(entry.getKey(), summarize(endpointStats.histogram, endpointStats.errors.sum(), endpointStats.statuses()));
+            total.add(endpointStats.histogram);
+            totalErrors += endpointStats.errors.sum();
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("startedAt", Instant.now().toString());
+        report.put("config", config);
+        report.put("total", summarize(total, totalErrors, Map.of()));
+        report.put("dropped", dropped.sum());
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    private Map<String, Object> summarize(Histogram histogram, long errors, Map<Integer, Long> statuses) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", histogram.getTotalCount() / (double) duration.toSeconds());
+        summary.put("meanMs", histogram.getMean() / 1000.0);
+        summary.put("p50Ms", histogram.getValueAtPercentile(50) / 1000.0);
+        summary.put("p90Ms", histogram.getValueAtPercentile(90) / 1000.0);
+        summary.put("p99Ms", histogram.getValueAtPercentile(99) / 1000.0);
+        summary.put("p999Ms", histogram.getValueAtPercentile(99.9) / 1000.0);
+        summary.put("maxMs", histogram.getMaxValue() / 1000.0);
+        if (!statuses.isEmpty()) {
+            summary.put("statuses", statuses);
+        }
+        return summary;
+    }
+
+    private static Path write(Map<String, Object> report) throws Exception {
+        Path directory = Path.of("build", "reports", "load-test");
+        Files.createDirectories(directory);
+        Path output = directory.resolve("report-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        Files.copy(output, directory.resolve("latest.json"), StandardCopyOption.REPLACE_EXISTING);
+        return output;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.printf("%-42s %8s %7s %9s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        Map<String, Object> endpoints = (Map<String, Object>) report.get("endpoints");
+        endpoints.forEach((endpoint, value) -> printRow(endpoint, (Map<String, Object>) value));
+        printRow("TOTAL", (Map<String, Object>) report.get("total"));
+        System.out.println("Descartadas por exceso de peticiones en vuelo: " + report.get("dropped"));
+    }
+
+    private static void printRow(String endpoint, Map<String, Object> row) {
+        System.out.printf("%-42s %8d %7d %9.2f %9.2f %9.2f %9.2f%n", endpoint, row.get("count"), row.get("errors"),
+                row.get("p50Ms"), row.get("p90Ms"), row.get("p99Ms"), row.get("maxMs"));
+    }
+
+    private static void compare(JsonNode baseline, JsonNode current) {
+        System.out.println("Comparación de p99 con el informe de referencia:");
+        current.get("endpoints").fields().forEachRemaining(entry -> {
+            JsonNode before = baseline.path("endpoints").path(entry.getKey());
+            if (before.isMissingNode()) {
+                return;
+            }
+            double was = before.get("p99Ms").asDouble();
+            double now = entry.getValue().get("p99Ms").asDouble();
+            System.out.printf("%-42s %9.2f -> %9.2f ms (%+.1f%%)%n", entry.getKey(), was, now,
+                    was == 0 ? 0.0 : (now - was) * 100 / was);
+        });
+    }
+
+    private static final class EndpointStats {
+
+        private final Histogram histogram = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+        void record(long latencyNanos, int status) {
+            histogram.recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(0, latencyNanos / 1000)));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+            if (status < 0 || status >= 400) {
+                errors.increment();
+            }
+        }
+
+        Map<Integer, Long> statuses() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+
+        void reset() {
+            histogram.reset();
+            errors.reset();
+            statuses.clear();
+        }
+    }
+
+    private static final class Session {
+
+        private final String username;
+        private final ConcurrentLinkedDeque<Long> tasks = new ConcurrentLinkedDeque<>();
+        private volatile String token;
+        private volatile long projectId;
+
+        Session(String username) {
+            this.username = username;
+        }
+
+        String username() {
+            return username;
+        }
+
+        String token() {
+            return token;
+        }
+
+        void setToken(String token) {
+            if (token != null) {
+                this.token = token;
+            }
+        }
+
+        long projectId() {
+            return projectId;
+        }
+
+        void setProjectId(long projectId) {
+            this.projectId = projectId;
+        }
+
+        ConcurrentLinkedDeque<Long> tasks() {
+            return tasks;
+        }
+
+        boolean isReady() {
+            return token != null && projectId != 0;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package co.cenitiumdev.projectmanagementapi.benchmark;
+
+import co.cenitiumdev.projectmanagementapi.ProjectManagementApiApplication;
+import co.cenitiumdev.projectmanagementapi.config.VirtualThreadPinningMonitor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compara el pool de hilos de plataforma de Tomcat con la ejecución en hilos virtuales bajo alta
+ * concurrencia de lecturas bloqueantes contra H2. Arranca la aplicación una vez por modo con una
+ * base de datos propia, lanza clientes en bucle cerrado y escribe throughput, percentiles y los
+ * eventos de pinning detectados en build/reports/virtual-threads.
+ *
+ * Parámetros (propiedades de sistema): bench.modes (platform,virtual), bench.concurrency (500),
+ * bench.warmup (10s), bench.duration (30s), bench.tasks (200).
+ */
+public class VirtualThreadBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final int concurrency = Integer.getInteger("bench.concurrency", 500);
+    private final Duration warmup = Duration.parse("PT" + System.getProperty("bench.warmup", "10s"));
+    private final Duration duration = Duration.parse("PT" + System.getProperty("bench.duration", "30s"));
+    private final int taskCount = Integer.getInteger("bench.tasks", 200);
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    public static void main(String[] args) throws Exception {
+        VirtualThreadBenchmark benchmark = new VirtualThreadBenchmark();
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (String mode : System.getProperty("bench.modes", "platform,virtual").split(",")) {
+            if (mode.equals("virtual") && Runtime.version().feature() < 21) {
+                System.out.println("Modo virtual omitido: requiere Java 21 (ejecutar con -PjavaVersion=21)");
+                continue;
+            }
+            report.put(mode, benchmark.run(mode));
+        }
+        Path output = Path.of("build", "reports", "virtual-threads", "benchmark.json");
+        Files.createDirectories(output.getParent());
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(output.toFile(), report);
+        System.out.println("Informe escrito en " + output.toAbsolutePath());
+    }
+
+    private Map<String, Object> run(String mode) throws Exception {
+        boolean virtual = mode.equals("virtual");
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ProjectManagementApiApplication.class)
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + mode,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--spring.threads.virtual.enabled=" + virtual,
+                        "--app.virtual-threads.pinning-monitor.enabled=" + virtual);
+        try {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            Fixture fixture = prepare(baseUrl);
+
+            drive(fixture, warmup);
+            long[] latencies = drive(fixture, duration);
+
+            Map<String, Object> result = summarize(latencies);
+            if (virtual) {
+                VirtualThreadPinningMonitor monitor = context.getBean(VirtualThreadPinningMonitor.class);
+                result.put("pinnedEvents", monitor.getPinnedCount());
+                result.put("pinnedSites", monitor.getPinnedSites());
+            }
+            System.out.printf("%-8s concurrencia=%d req/s=%.0f p50=%.2fms p99=%.2fms p99.9=%.2fms errores=%d%n",
+                    mode, concurrency, result.get("throughput"), result.get("p50Ms"), result.get("p99Ms"),
+                    result.get("p999Ms"), result.get("errors"));
+            return result;
+        } finally {
+            context.close();
+        }
+    }
+
+    private Fixture prepare(String baseUrl) throws IOException, InterruptedException {
+        String username = "bench" + System.nanoTime();
+        post(baseUrl + "/api/users/register", null,
+                Map.of("username", username, "password", "secret123", "email", username + "@bench.local"));
+        String token = post(baseUrl + "/api/users/login", null,
+                Map.of("username", username, "password", "secret123"));
+        JsonNode project = MAPPER.readTree(post(baseUrl + "/api/projects", token,
+                Map.of("name", "Benchmark", "description", "carga", "startDate", "2026-01-01", "endDate", "2026-12-31")));
+        long projectId = project.get("id").asLong();
+
+        long[] taskIds = new long[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            JsonNode task = MAPPER.readTree(post(baseUrl + "/api/projects/" + projectId + "/tasks", token,
+                    Map.of("name", "Tarea " + i, "description", "carga", "dueDate", "2026-06-01", "status", "PENDING")));
+            taskIds[i] = task.get("id").asLong();
+        }
+        return new Fixture(baseUrl, token, projectId, taskIds);
+    }
+
+    private long[] drive(Fixture fixture, Duration window) throws Exception {
+        long deadline = System.nanoTime() + window.toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                results.add(clients.submit(() -> clientLoop(fixture, deadline)));
+            }
+            List<long[]> perClient = new ArrayList<>();
+            for (Future<long[]> result : results) {
+                perClient.add(result.get());
+            }
+            return perClient.stream().flatMapToLong(Arrays::stream).toArray();
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private long[] clientLoop(Fixture fixture, long deadline) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            String path = random.nextBoolean()
+                    ? "/api/projects/" + fixture.projectId() + "/tasks?limit=50"
+                    : "/api/projects/" + fixture.projectId() + "/tasks/" + fixture.taskIds()[random.nextInt(fixture.taskIds().length)];
+            HttpRequest request = HttpRequest.newBuilder(URI.create(fixture.baseUrl() + path))
+                    .header("Authorization", "Bearer " + fixture.token())
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            long start = System.nanoTime();
+            long latency;
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                latency = response.statusCode() == 200 ? System.nanoTime() - start : -1;
+            } catch (IOException e) {
+                latency = -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private Map<String, Object> summarize(long[] latencies) {
+        long[] ok = Arrays.stream(latencies).filter(latency -> latency >= 0).sorted().toArray();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("java", Runtime.version().toString());
+        result.put("concurrency", concurrency);
+        result.put("durationSeconds", duration.toSeconds());
+        result.put("requests", ok.length);
+        result.put("errors", latencies.length - ok.length);
+        result.put("throughput", ok.length / (double) duration.toSeconds());
+        result.put("p50Ms", percentile(ok, 0.50));
+        result.put("p99Ms", percentile(ok, 0.99));
+        result.put("p999Ms", percentile(ok, 0.999));
+        result.put("maxMs", ok.length == 0 ? 0.0 : ok[ok.length - 1] / 1_000_000.0);
+        return result;
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private String post(String url, String token, Map<String, String> body) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 300) {
+            throw new IllegalStateException("Preparación fallida en " + url + ": " + response.statusCode() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    private record Fixture(String baseUrl, String token, long projectId, long[] taskIds) {
+    }
+}
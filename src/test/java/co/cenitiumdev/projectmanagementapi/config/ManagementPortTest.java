@@ -0,0 +1,90 @@
+package co.cenitiumdev.projectmanagementapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Actuator se sirve solo en el puerto de gestión: la API pública no expone las métricas, y en el
+ * puerto de gestión solo health y prometheus quedan sin autenticar; cachestats requiere token.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:management-port",
+        "app.scheduling.enabled=false",
+        "management.server.port=0"
+})
+// Los tests desactivan por defecto la exportación de métricas: sin esto no hay endpoint prometheus.
+@AutoConfigureObservability
+class ManagementPortTest {
+
+    @LocalServerPort
+    private int serverPort;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void publicPortDoesNotServeActuator() {
+        ResponseEntity<String> response = get(serverPort, "/actuator/prometheus");
+        assertTrue(response.getStatusCode().isError(), response.getStatusCode().toString());
+        assertFalse(String.valueOf(response.getBody()).contains("jvm_memory"));
+    }
+
+    @Test
+    void managementPortServesProbesAndScrapesWithoutToken() {
+        assertEquals(HttpStatus.OK, get(managementPort, "/actuator/health").getStatusCode());
+        ResponseEntity<String> scrape = get(managementPort, "/actuator/prometheus");
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        assertTrue(scrape.getBody().contains("jvm_memory"));
+        assertEquals(HttpStatus.UNAUTHORIZED, get(managementPort, "/actuator/metrics").getStatusCode());
+    }
+
+    @Test
+    void cacheStatsRequireATokenOnTheManagementPort() {
+        assertEquals(HttpStatus.UNAUTHORIZED, get(managementPort, "/actuator/cachestats").getStatusCode());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(login());
+        ResponseEntity<String> stats = restTemplate.exchange("http://localhost:" + managementPort + "/actuator/cachestats",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, stats.getStatusCode());
+        assertTrue(stats.getBody().contains("hitRatio"), stats.getBody());
+
+        // Ya no se sirven en la API pública.
+        ResponseEntity<String> legacy = restTemplate.exchange("http://localhost:" + serverPort + "/api/cache/stats",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertFalse(legacy.getStatusCode().is2xxSuccessful(), legacy.getStatusCode().toString());
+        assertFalse(String.valueOf(legacy.getBody()).contains("hitRatio"));
+    }
+
+    private String login() {
+        Map<String, String> user = Map.of("username", "gestion", "password", "secret123", "email", "gestion@test.local");
+        restTemplate.postForEntity("http://localhost:" + serverPort + "/api/users/register", user, String.class);
+        ResponseEntity<String> token = restTemplate.postForEntity("http://localhost:" + serverPort + "/api/users/login",
+                Map.of("username", "gestion", "password", "secret123"), String.class);
+        assertEquals(HttpStatus.OK, token.getStatusCode());
+        return token.getBody();
+    }
+
+    private ResponseEntity<String> get(int port, String path) {
+        return restTemplate.getForEntity("http://localhost:" + port + path, String.class);
+    }
+}
@@ -0,0 +1,213 @@
+package co.cenitiumdev.projectmanagementapi.controllers;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.advices.GlobalExceptionHandler;
+import co.cenitiumdev.projectmanagementapi.models.Task;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags de lectura (If-None-Match) y control de concurrencia optimista (If-Match) en proyectos y
+ * tareas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:conditional-requests",
+        "app.scheduling.enabled=false"
+})
+@AutoConfigureMockMvc
+class ConditionalRequestTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    private String bearer;
+    private String projectPath;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        // La caché de segundo nivel es de la JVM: otros contextos pueden tener proyectos con estos
+        // ids y otra versión, y el ETag saldría de ellos.
+        entityManagerFactory.getCache().evictAll();
+        String username = "etag" + USERS.incrementAndGet();
+        mockMvc.perform(json(post("/api/users/register"), Map.of(
+                        "username", username, "password", "secret123", "email", username + "@test.local")))
+                .andExpect(status().isCreated());
+        bearer = "Bearer " + mockMvc.perform(json(post("/api/users/login"), Map.of(
+                        "username", username, "password", "secret123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        JsonNode project = read(mockMvc.perform(json(post("/api/projects"), project("Condicional")))
+                .andExpect(status().isCreated())
+                .andReturn());
+        projectPath = "/api/projects/" + project.get("id").asLong();
+    }
+
+    @Test
+    void matchingIfNoneMatchReturnsNotModified() throws Exception {
+        String taskPath = createTask("Tarea");
+        for (String path : new String[]{projectPath, taskPath, "/api/projects", projectPath + "/tasks"}) {
+            String etag = etagOf(path);
+            mockMvc.perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+            mockMvc.perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, "\"otra\""))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void staleIfMatchIsRejectedOnProjectWrites() throws Exception {
+        String stale = etagOf(projectPath);
+        mockMvc.perform(json(put(projectPath), project("Primera edición")).header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(json(put(projectPath), project("Edición perdida")).header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(authorized(delete(projectPath)).header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Primera edición", read(mockMvc.perform(authorized(get(projectPath))).andReturn()).get("name").asText());
+
+        mockMvc.perform(authorized(delete(projectPath)).header(HttpHeaders.IF_MATCH, etagOf(projectPath)))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void staleIfMatchIsRejectedOnTaskWrites() throws Exception {
+        String taskPath = createTask("Tarea");
+        String stale = etagOf(taskPath);
+        mockMvc.perform(json(put(taskPath), task("Primera edición")).header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(json(put(taskPath), task("Edición perdida")).header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(authorized(delete(taskPath)).header(HttpHeaders.IF_MATCH, stale))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("Primera edición", read(mockMvc.perform(authorized(get(taskPath))).andReturn()).get("name").asText());
+
+        mockMvc.perform(authorized(delete(taskPath)).header(HttpHeaders.IF_MATCH, etagOf(taskPath)))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    void taskWritesChangeTheTaskListETag() throws Exception {
+        String listPath = projectPath + "/tasks";
+        String filteredPath = listPath + "?status=PENDING&sort=dueDate";
+        String list = etagOf(listPath);
+        String filtered = etagOf(filteredPath);
+
+        String taskPath = createTask("Nueva");
+        list = assertChanged(listPath, list);
+        filtered = assertChanged(filteredPath, filtered);
+
+        mockMvc.perform(json(put(taskPath), task("Editada"))).andExpect(status().isOk());
+        list = assertChanged(listPath, list);
+        filtered = assertChanged(filteredPath, filtered);
+
+        mockMvc.perform(json(patch(listPath + "/status"), Map.of(
+                        "statuses", new String[]{"PENDING"}, "targetStatus", "COMPLETED")))
+                .andExpect(status().isOk());
+        list = assertChanged(listPath, list);
+        filtered = assertChanged(filteredPath, filtered);
+
+        mockMvc.perform(authorized(delete(taskPath))).andExpect(status().isNoContent());
+        assertChanged(listPath, list);
+        assertChanged(filteredPath, filtered);
+    }
+
+    @Test
+    void concurrentWriteConflictsAreOnlyPreconditionFailuresWithIfMatch() {
+        ObjectOptimisticLockingFailureException conflict = new ObjectOptimisticLockingFailureException(Task.class, 1L);
+
+        MockHttpServletRequest unconditional = new MockHttpServletRequest("PUT", "/api/projects/1/tasks/1");
+        assertEquals(HttpStatus.CONFLICT,
+                exceptionHandler.handleOptimisticLockingFailure(conflict, new ServletWebRequest(unconditional)).getStatusCode());
+
+        MockHttpServletRequest conditional = new MockHttpServletRequest("PUT", "/api/projects/1/tasks/1");
+        conditional.addHeader(HttpHeaders.IF_MATCH, "\"3\"");
+        assertEquals(HttpStatus.PRECONDITION_FAILED,
+                exceptionHandler.handleOptimisticLockingFailure(conflict, new ServletWebRequest(conditional)).getStatusCode());
+    }
+
+    // La respuesta cacheada por el cliente ya no vale: el ETag nuevo es distinto y el viejo no da 304.
+    private String assertChanged(String path, String previous) throws Exception {
+        String current = etagOf(path);
+        assertNotEquals(previous, current, path);
+        mockMvc.perform(authorized(get(path)).header(HttpHeaders.IF_NONE_MATCH, previous))
+                .andExpect(status().isOk());
+        return current;
+    }
+
+    private String etagOf(String path) throws Exception {
+        String etag = mockMvc.perform(authorized(get(path)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag, path);
+        return etag;
+    }
+
+    private String createTask(String name) throws Exception {
+        JsonNode task = read(mockMvc.perform(json(post(projectPath + "/tasks"), task(name)))
+                .andExpect(status().isCreated())
+                .andReturn());
+        return projectPath + "/tasks/" + task.get("id").asLong();
+    }
+
+    private static Map<String, Object> project(String name) {
+        return Map.of("name", name, "description", "etag", "startDate", "2026-01-01", "endDate", "2026-12-31");
+    }
+
+    private static Map<String, Object> task(String name) {
+        return Map.of("name", name, "description", "etag", "dueDate", "2030-06-01", "status", "PENDING");
+    }
+
+    private MockHttpServletRequestBuilder authorized(MockHttpServletRequestBuilder request) {
+        return request.header(HttpHeaders.AUTHORIZATION, bearer);
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Map<String, ?> body) throws Exception {
+        request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        return bearer == null ? request : authorized(request);
+    }
+
+    private JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,73 @@
+package co.cenitiumdev.projectmanagementapi.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Las suscripciones SSE abiertas no retienen conexiones del pool: con más suscripciones que
+ * conexiones, las peticiones normales siguen atendiéndose.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-events-connections",
+        "app.scheduling.enabled=false",
+        "spring.datasource.hikari.maximum-pool-size=" + TaskEventsConnectionTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=500"
+})
+@AutoConfigureMockMvc
+class TaskEventsConnectionTest {
+
+    static final int POOL_SIZE = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void openSubscriptionsDoNotHoldPooledConnections() throws Exception {
+        mockMvc.perform(json(post("/api/users/register"), Map.of(
+                        "username", "suscriptor", "password", "secret123", "email", "suscriptor@test.local")))
+                .andExpect(status().isCreated());
+        String bearer = "Bearer " + mockMvc.perform(json(post("/api/users/login"), Map.of(
+                        "username", "suscriptor", "password", "secret123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String projectId = objectMapper.readTree(mockMvc.perform(json(post("/api/projects"), Map.of(
+                                "name", "Eventos", "description", "sse", "startDate", "2026-01-01", "endDate", "2026-12-31"))
+                                .header(HttpHeaders.AUTHORIZATION, bearer))
+                        .andExpect(status().isCreated())
+                        .andReturn().getResponse().getContentAsString())
+                .get("id").asText();
+        String tasksPath = "/api/projects/" + projectId + "/tasks";
+
+        // Los streams quedan abiertos: MockMvc no completa la petición asíncrona.
+        for (int i = 0; i < POOL_SIZE * 3; i++) {
+            mockMvc.perform(get(tasksPath + "/events").header(HttpHeaders.AUTHORIZATION, bearer))
+                    .andExpect(request().asyncStarted());
+        }
+
+        mockMvc.perform(get(tasksPath).header(HttpHeaders.AUTHORIZATION, bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isArray());
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Map<String, ?> body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+}
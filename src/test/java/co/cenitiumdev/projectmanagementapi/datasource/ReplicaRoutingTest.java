@@ -0,0 +1,132 @@
+package co.cenitiumdev.projectmanagementapi.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Una segunda base H2 hace de réplica. No replica nada: el test escribe directamente en ella el
+ * latido, y que una lectura devuelva o no los datos del primario indica adónde se envió.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary",
+        "app.datasource.replicas.enabled=true",
+        "app.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL,
+        "app.datasource.replicas.max-lag=5s",
+        "app.datasource.replicas.read-your-writes-window=1s",
+        "app.scheduling.enabled=false"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private ReplicaMonitor monitor;
+
+    @Autowired
+    private ReplicaPool pool;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void migrateReplica() {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+    }
+
+    @BeforeEach
+    void freshReplica() {
+        setReplicaHeartbeat(OffsetDateTime.now(ZoneOffset.UTC));
+        monitor.checkReplicas();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() {
+        assertTrue(pool.getReplicas().get(0).isAvailable());
+        assertEquals("ROUTING-REPLICA", currentDatabase(true));
+        assertEquals("ROUTING-PRIMARY", currentDatabase(false));
+    }
+
+    @Test
+    void laggingReplicaStopsReceivingReads() {
+        setReplicaHeartbeat(OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        monitor.checkReplicas();
+
+        assertFalse(pool.getReplicas().get(0).isAvailable());
+        assertEquals("ROUTING-PRIMARY", currentDatabase(true));
+    }
+
+    @Test
+    void readsFollowTheUsersWritesForAShortWindow() throws Exception {
+        mockMvc.perform(post("/api/users/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", "replica", "password", "secret123", "email", "replica@test.local"))))
+                .andExpect(status().isCreated());
+        String token = mockMvc.perform(post("/api/users/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", "replica", "password", "secret123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + token;
+
+        mockMvc.perform(post("/api/projects").header("Authorization", bearer).contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "name", "Réplica", "description", "lectura", "startDate", "2026-01-01", "endDate", "2026-12-31"))))
+                .andExpect(status().isCreated());
+
+        // Justo después de escribir lee del primario, que ya tiene el proyecto.
+        mockMvc.perform(get("/api/projects").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1));
+
+        // Pasada la ventana lee de la réplica, a la que el proyecto no llegó.
+        Thread.sleep(1200);
+        mockMvc.perform(get("/api/projects").header("Authorization", bearer))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(0));
+    }
+
+    private String currentDatabase(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbcTemplate.queryForObject("select database()", String.class));
+    }
+
+    private static void setReplicaHeartbeat(OffsetDateTime beatAt) {
+        replica.update("update replica_heartbeat set beat_at = ? where id = 1", beatAt);
+    }
+}
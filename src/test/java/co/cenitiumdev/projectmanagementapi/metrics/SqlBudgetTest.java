@@ -0,0 +1,126 @@
+package co.cenitiumdev.projectmanagementapi.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Recorre los endpoints anotados con {@link SqlBudget} en modo {@code fail}: cualquier endpoint
+ * que ejecute más sentencias de las declaradas responde 500 y el test falla con la lista de SQL.
+ */
+@SpringBootTest(properties = {
+        "app.sql-budget.mode=fail",
+        "spring.datasource.url=jdbc:h2:mem:sql-budget"
+})
+@AutoConfigureMockMvc
+class SqlBudgetTest {
+
+    private static final int TASKS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void endpointsStayWithinTheirSqlBudgets() throws Exception {
+        // La caché de segundo nivel es de la JVM: otros contextos pueden haber dejado proyectos con
+        // los mismos ids, y un fallo de caché cuenta como una sentencia más.
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(json(post("/api/users/register"), Map.of(
+                        "username", "budget", "password", "secret123", "email", "budget@test.local")))
+                .andExpect(status().isCreated());
+        String token = mockMvc.perform(json(post("/api/users/login"), Map.of(
+                        "username", "budget", "password", "secret123")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String bearer = "Bearer " + token;
+
+        JsonNode project = read(mockMvc.perform(json(post("/api/projects"), Map.of(
+                        "name", "Presupuesto", "description", "sql", "startDate", "2026-01-01", "endDate", "2026-12-31"))
+                        .header("Authorization", bearer))
+                .andExpect(status().isCreated())
+                .andReturn());
+        long projectId = project.get("id").asLong();
+        String projectPath = "/api/projects/" + projectId;
+
+        long taskId = 0;
+        for (int i = 0; i < TASKS; i++) {
+            JsonNode task = read(mockMvc.perform(json(post(projectPath + "/tasks"), Map.of(
+                            "name", "Tarea " + i, "description", "sql", "dueDate", "2026-06-01", "status", "PENDING"))
+                            .header("Authorization", bearer))
+                    .andExpect(status().isCreated())
+                    .andReturn());
+            taskId = task.get("id").asLong();
+        }
+        String taskPath = projectPath + "/tasks/" + taskId;
+
+        mockMvc.perform(get("/api/projects").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get(projectPath).header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/projects/summary").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get(projectPath + "/summary").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get(projectPath + "/tasks").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get(projectPath + "/tasks?sort=dueDate&limit=5").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get(projectPath + "/tasks?status=PENDING,IN_PROGRESS&dueFrom=2026-05-01&dueTo=2026-06-30&sort=dueDate")
+                .header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get(taskPath).header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/search?q=tarea&limit=5").header("Authorization", bearer)).andExpect(status().isOk());
+
+        mockMvc.perform(json(put(taskPath), Map.of(
+                        "name", "Tarea editada", "description", "sql", "dueDate", "2026-07-01", "status", "IN_PROGRESS"))
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(json(patch(projectPath + "/tasks/status"), Map.of(
+                        "statuses", new String[]{"PENDING"}, "targetStatus", "COMPLETED"))
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete(taskPath).header("Authorization", bearer)).andExpect(status().isNoContent());
+
+        mockMvc.perform(json(put(projectPath), Map.of(
+                        "name", "Presupuesto editado", "description", "sql", "startDate", "2026-01-01", "endDate", "2026-12-31"))
+                        .header("Authorization", bearer))
+                .andExpect(status().isOk());
+
+        JsonNode emptyProject = read(mockMvc.perform(json(post("/api/projects"), Map.of(
+                        "name", "Vacío", "description", "sql", "startDate", "2026-01-01", "endDate", "2026-12-31"))
+                        .header("Authorization", bearer))
+                .andExpect(status().isCreated())
+                .andReturn());
+        mockMvc.perform(delete("/api/projects/" + emptyProject.get("id").asLong()).header("Authorization", bearer))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/users/1").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/sync?since=0").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/sync?since=5&limit=5").header("Authorization", bearer)).andExpect(status().isOk());
+        mockMvc.perform(post("/api/users/logout").header("Authorization", bearer)).andExpect(status().isNoContent());
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Map<String, ?> body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+
+    private JsonNode read(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
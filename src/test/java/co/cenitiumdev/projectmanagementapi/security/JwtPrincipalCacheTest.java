@@ -0,0 +1,102 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JwtPrincipalCacheTest {
+
+    private static final int MAX_SIZE = 10;
+
+    private final JwtPrincipalCache cache = new JwtPrincipalCache(MAX_SIZE);
+
+    @Test
+    void countsHitsAndMisses() {
+        AuthenticatedUser user = user(1);
+        assertNull(cache.get("token-1"));
+        cache.put("token-1", user, inMinutes(5));
+
+        assertSame(user, cache.get("token-1"));
+        assertSame(user, cache.get("token-1"));
+        assertNull(cache.get("token-2"));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    void entriesExpireWithTheToken() throws Exception {
+        cache.put("token-1", user(1), new Date(System.currentTimeMillis() + 200));
+        assertNotNull(cache.get("token-1"));
+
+        Thread.sleep(300);
+
+        assertNull(cache.get("token-1"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void staysWithinMaxSize() {
+        for (int i = 0; i < MAX_SIZE * 5; i++) {
+            cache.put("token-" + i, user(i), inMinutes(5));
+        }
+
+        assertEquals(MAX_SIZE, cache.size());
+        assertEquals(MAX_SIZE * 5 - MAX_SIZE, cache.getEvictionCount());
+        // La última entrada siempre queda guardada.
+        assertNotNull(cache.get("token-" + (MAX_SIZE * 5 - 1)));
+    }
+
+    @Test
+    void evictsExpiredTokensBeforeValidOnes() {
+        Date past = new Date(System.currentTimeMillis() - 1000);
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            cache.put("expired-" + i, user(i), past);
+        }
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            cache.put("valid-" + i, user(i), inMinutes(5));
+        }
+
+        cache.put("new", user(99), inMinutes(5));
+
+        assertEquals(MAX_SIZE / 2 + 1, cache.size());
+        assertEquals(MAX_SIZE / 2, cache.getEvictionCount());
+        for (int i = 0; i < MAX_SIZE / 2; i++) {
+            assertNotNull(cache.get("valid-" + i));
+        }
+    }
+
+    @Test
+    void revokedTokensCanBeInvalidated() {
+        cache.put("token-1", user(1), inMinutes(5));
+        cache.put("token-2", user(1), inMinutes(5));
+
+        cache.invalidate("token-1");
+
+        assertNull(cache.get("token-1"));
+        assertNotNull(cache.get("token-2"));
+    }
+
+    @Test
+    void disabledWhenMaxSizeIsZero() {
+        JwtPrincipalCache disabled = new JwtPrincipalCache(0);
+        disabled.put("token-1", user(1), inMinutes(5));
+
+        assertNull(disabled.get("token-1"));
+        assertEquals(0, disabled.size());
+    }
+
+    private static AuthenticatedUser user(long id) {
+        return new AuthenticatedUser(id, "user" + id, null, "jti-" + id);
+    }
+
+    private static Date inMinutes(int minutes) {
+        return new Date(System.currentTimeMillis() + minutes * 60_000L);
+    }
+}
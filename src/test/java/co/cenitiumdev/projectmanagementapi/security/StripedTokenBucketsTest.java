@@ -0,0 +1,135 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StripedTokenBucketsTest {
+
+    private static final int CAPACITY = 10;
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+    private static final int STRIPES = 1 << 17;
+    private static final int THREADS = 16;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void admitsHundredsOfThousandsOfDistinctKeysInFixedMemory() throws Exception {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(CAPACITY, WINDOW, STRIPES, clock::get);
+        int keysPerThread = 25_000;
+
+        long admitted = sum(runConcurrently(thread -> {
+            long granted = 0;
+            for (int i = 0; i < keysPerThread; i++) {
+                if (buckets.tryAcquire("user-" + thread + "-" + i) == 0) {
+                    granted++;
+                }
+            }
+            return granted;
+        }));
+
+        long keys = (long) THREADS * keysPerThread;
+        assertTrue(admitted >= keys * 0.9999, "admitidas " + admitted + " de " + keys);
+        assertEquals(STRIPES, buckets.getStripes());
+    }
+
+    @Test
+    void hotKeyIsLimitedUnderContention() throws Exception {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(CAPACITY, WINDOW, STRIPES, clock::get);
+
+        long admitted = sum(runConcurrently(thread -> {
+            long granted = 0;
+            for (int i = 0; i < 10_000; i++) {
+                if (buckets.tryAcquire("attacker") == 0) {
+                    granted++;
+                }
+            }
+            return granted;
+        }));
+
+        assertTrue(admitted >= CAPACITY && admitted <= CAPACITY + THREADS, "admitidas " + admitted);
+    }
+
+    @Test
+    void coldKeysPassWhileHotKeysAreHammered() throws Exception {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(CAPACITY, WINDOW, STRIPES, clock::get);
+        int coldKeysPerThread = 20_000;
+
+        List<Long> coldAdmitted = runConcurrently(thread -> {
+            long granted = 0;
+            for (int i = 0; i < coldKeysPerThread; i++) {
+                buckets.tryAcquire("hot-" + (i % 64));
+                if (buckets.tryAcquire("cold-" + thread + "-" + i) == 0) {
+                    granted++;
+                }
+            }
+            return granted;
+        });
+
+        long coldKeys = (long) THREADS * coldKeysPerThread;
+        assertTrue(sum(coldAdmitted) >= coldKeys * 0.999, "admitidas " + sum(coldAdmitted) + " de " + coldKeys);
+        assertTrue(buckets.tryAcquire("hot-0") > 0);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        StripedTokenBuckets buckets = new StripedTokenBuckets(CAPACITY, WINDOW, STRIPES, clock::get);
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(0, buckets.tryAcquire("alice"));
+        }
+
+        long waitMillis = buckets.tryAcquire("alice");
+        assertEquals(WINDOW.toMillis() / CAPACITY, waitMillis);
+
+        clock.addAndGet(Duration.ofMillis(waitMillis).toNanos());
+        assertEquals(0, buckets.tryAcquire("alice"));
+        assertTrue(buckets.tryAcquire("alice") > 0);
+
+        clock.addAndGet(WINDOW.toNanos());
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals(0, buckets.tryAcquire("alice"));
+        }
+    }
+
+    private interface Worker {
+        long run(int thread) throws Exception;
+    }
+
+    private static List<Long> runConcurrently(Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CyclicBarrier start = new CyclicBarrier(THREADS);
+        try {
+            List<Future<Long>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                Callable<Long> task = () -> {
+                    start.await();
+                    return worker.run(thread);
+                };
+                futures.add(executor.submit(task));
+            }
+            List<Long> results = new ArrayList<>();
+            for (Future<Long> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static long sum(List<Long> values) {
+        return values.stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,162 @@
+package co.cenitiumdev.projectmanagementapi.security;
+
+import co.cenitiumdev.projectmanagementapi.utils.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:token-revocation",
+        "app.scheduling.enabled=false"
+})
+@AutoConfigureMockMvc
+class TokenRevocationTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TokenDenylist denylist;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${jwt.secret}")
+    private String secret;
+
+    private String username;
+
+    @BeforeEach
+    void register() throws Exception {
+        // La caché de segundo nivel es de la JVM: otros contextos pueden tener usuarios con estos ids,
+        // y los tokens sin "uid" resuelven el usuario por nombre a través de ella.
+        entityManagerFactory.getCache().evictAll();
+        username = "revoke" + USERS.incrementAndGet();
+        mockMvc.perform(post("/api/users/register").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username, "password", "secret123", "email", username + "@test.local"))))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void logoutRevokesOnlyTheCurrentToken() throws Exception {
+        String first = login();
+        String second = login();
+        mockMvc.perform(get("/api/projects").header("Authorization", first)).andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/users/logout").header("Authorization", first)).andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/projects").header("Authorization", first)).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/api/projects").header("Authorization", second)).andExpect(status().isOk());
+    }
+
+    @Test
+    void logoutRejectsTokensWithoutJti() throws Exception {
+        // Token del formato antiguo, firmado con la misma clave: solo lleva el nombre de usuario y
+        // las fechas, sin identificador propio ("jti") ni id de usuario ("uid").
+        String legacy = "Bearer " + Jwts.builder()
+                .subject(username)
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+
+        mockMvc.perform(post("/api/users/logout").header("Authorization", legacy))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("jti")));
+        mockMvc.perform(get("/api/projects").header("Authorization", legacy)).andExpect(status().isOk());
+    }
+
+    @Test
+    void revocationsFromOtherNodesApplyAfterSyncEvenForCachedTokens() throws Exception {
+        String bearer = login();
+        mockMvc.perform(get("/api/projects").header("Authorization", bearer)).andExpect(status().isOk());
+
+        // Otro nodo revoca el token: solo escribe en la tabla compartida.
+        String jti = jwtUtil.extractAllClaims(bearer.substring(7)).getId();
+        insertRevocation(jti, OffsetDateTime.now(ZoneOffset.UTC).plusHours(1));
+        mockMvc.perform(get("/api/projects").header("Authorization", bearer)).andExpect(status().isOk());
+
+        denylist.sync();
+        mockMvc.perform(get("/api/projects").header("Authorization", bearer)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void expiredRevocationsArePurgedAndForgotten() {
+        String jti = UUID.randomUUID().toString();
+        insertRevocation(jti, OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        denylist.sync();
+
+        denylist.purgeAndRebuild();
+
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from revoked_tokens where jti = ?", Integer.class, jti));
+        assertFalse(denylist.isRevoked(jti));
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("revoked-" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("revoked-" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "falsos positivos: " + falsePositives);
+    }
+
+    private String login() throws Exception {
+        return "Bearer " + mockMvc.perform(post("/api/users/login").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of("username", username, "password", "secret123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private void insertRevocation(String jti, OffsetDateTime expiresAt) {
+        jdbcTemplate.update("insert into revoked_tokens (jti, user_id, expires_at, revoked_at) values (?, ?, ?, ?)",
+                jti, 0L, expiresAt, OffsetDateTime.now(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,211 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.BulkTaskStatusUpdateDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ChangeDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ChangeLogPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.UserRegistrationDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
+import co.cenitiumdev.projectmanagementapi.models.Project;
+import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeEntityType;
+import co.cenitiumdev.projectmanagementapi.models.enums.ChangeOperation;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import co.cenitiumdev.projectmanagementapi.services.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:change-log",
+        "app.scheduling.enabled=false",
+        "changelog.compaction.chunk-size=7"
+})
+class ChangeLogServiceTest {
+
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChangeLogCompactor compactor;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private OverdueTaskScanner overdueTaskScanner;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long ownerId;
+
+    @BeforeEach
+    void setUp() {
+        // La caché de segundo nivel es de la JVM: otros contextos de test pueden haber dejado
+        // proyectos con los mismos ids.
+        entityManagerFactory.getCache().evictAll();
+        String username = "sync" + USERS.incrementAndGet();
+        UserRegistrationDTO registration = new UserRegistrationDTO();
+        registration.setUsername(username);
+        registration.setPassword("secret123");
+        registration.setEmail(username + "@test.local");
+        userService.registerNewUser(registration);
+        ownerId = userRepository.findByEmail(username + "@test.local").orElseThrow().getId();
+    }
+
+    @Test
+    void pagesThroughEveryChangeInOrder() {
+        Project project = projectService.createProject(newProject(), ownerId);
+        List<Long> taskIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            taskIds.add(taskService.createTask(project.getId(), newTask("Tarea " + i), ownerId).getId());
+        }
+        taskService.deleteTask(taskIds.get(0), project.getId(), ownerId, null);
+
+        List<ChangeDTO> changes = new ArrayList<>();
+        long since = 0;
+        ChangeLogPageDTO page;
+        do {
+            page = changeLogService.getChanges(ownerId, since, 2);
+            changes.addAll(page.getChanges());
+            since = page.getNextSince();
+        } while (page.isHasMore());
+
+        assertEquals(7, changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            assertEquals(i + 1, changes.get(i).getSeq());
+        }
+        assertEquals(ChangeEntityType.PROJECT, changes.get(0).getEntityType());
+        assertEquals("Sincronización", changes.get(0).getProject().getName());
+        ChangeDTO tombstone = changes.get(6);
+        assertEquals(ChangeOperation.DELETE, tombstone.getOperation());
+        assertEquals(taskIds.get(0), tombstone.getEntityId());
+        assertNull(tombstone.getTask());
+        // La tarea borrada ya no tiene estado que enviar en su UPSERT anterior.
+        assertNull(changes.get(1).getTask());
+        assertNotNull(changes.get(2).getTask());
+        assertEquals(7, since);
+        assertTrue(changeLogService.getChanges(ownerId, since, 10).getChanges().isEmpty());
+    }
+
+    @Test
+    void bulkUpdatesAndProjectDeletionAreLogged() {
+        Project project = projectService.createProject(newProject(), ownerId);
+        for (int i = 0; i < 3; i++) {
+            taskService.createTask(project.getId(), newTask("Tarea " + i), ownerId);
+        }
+        long before = changeLogService.getChanges(ownerId, 0, 100).getNextSince();
+
+        BulkTaskStatusUpdateDTO request = new BulkTaskStatusUpdateDTO();
+        request.setStatuses(Set.of(TaskStatus.PENDING));
+        request.setTargetStatus(TaskStatus.COMPLETED);
+        taskService.updateTaskStatuses(project.getId(), request, ownerId);
+        List<ChangeDTO> updated = changeLogService.getChanges(ownerId, before, 100).getChanges();
+        assertEquals(3, updated.size());
+        assertTrue(updated.stream().allMatch(change -> change.getTask().getStatus() == TaskStatus.COMPLETED));
+
+        Project empty = projectService.createProject(newProject(), ownerId);
+        projectService.deleteProject(empty.getId(), ownerId, null);
+        List<ChangeDTO> deleted = changeLogService.getChanges(ownerId, before + 4, 100).getChanges();
+        assertEquals(1, deleted.size());
+        assertEquals(ChangeOperation.DELETE, deleted.get(0).getOperation());
+        assertEquals(empty.getId(), deleted.get(0).getEntityId());
+        assertNull(deleted.get(0).getProject());
+    }
+
+    @Test
+    void tasksFlaggedByTheOverdueScannerAreLogged() {
+        Project project = projectService.createProject(newProject(), ownerId);
+        Task task = newTask("Vence hoy");
+        task.setDueDate(LocalDate.now());
+        task = taskService.createTask(project.getId(), task, ownerId);
+        long before = changeLogService.getChanges(ownerId, 0, 100).getNextSince();
+
+        overdueTaskScanner.scan(LocalDate.now().plusDays(1));
+
+        List<ChangeDTO> changes = changeLogService.getChanges(ownerId, before, 100).getChanges();
+        assertEquals(1, changes.size());
+        assertEquals(ChangeOperation.UPSERT, changes.get(0).getOperation());
+        assertEquals(task.getId(), changes.get(0).getEntityId());
+        assertTrue(changes.get(0).getTask().isOverdue());
+        // La versión enviada es la que espera el If-Match de la próxima escritura del cliente.
+        assertEquals(task.getVersion() + 1, changes.get(0).getTask().getVersion());
+    }
+
+    @Test
+    void compactionKeepsTheLatestEntryPerEntityAndExpiresTombstones() {
+        Project project = projectService.createProject(newProject(), ownerId);
+        Task task = taskService.createTask(project.getId(), newTask("Tarea"), ownerId);
+        for (int i = 0; i < 10; i++) {
+            task = taskService.updateTask(task.getId(), project.getId(), newTask("Tarea " + i), ownerId, null);
+        }
+        Task removed = taskService.createTask(project.getId(), newTask("Borrada"), ownerId);
+        taskService.deleteTask(removed.getId(), project.getId(), ownerId, null);
+
+        compactor.compact(Instant.now());
+        List<ChangeDTO> changes = changeLogService.getChanges(ownerId, 0, 100).getChanges();
+        assertEquals(List.of(1L, 12L, 14L), changes.stream().map(ChangeDTO::getSeq).toList());
+        assertEquals("Tarea 9", changes.get(1).getTask().getName());
+        assertEquals(ChangeOperation.DELETE, changes.get(2).getOperation());
+
+        compactor.compact(Instant.now().plus(Duration.ofDays(365)));
+        ChangeLogPageDTO stale = changeLogService.getChanges(ownerId, 5, 100);
+        assertTrue(stale.isResetRequired());
+        assertEquals(14, stale.getNextSince());
+        ChangeLogPageDTO fresh = changeLogService.getChanges(ownerId, 14, 100);
+        assertFalse(fresh.isResetRequired());
+        assertTrue(fresh.getChanges().isEmpty());
+    }
+
+    @Test
+    void rejectsCursorsOutsideTheLog() {
+        assertThrows(BadRequestException.class, () -> changeLogService.getChanges(ownerId, -1, 10));
+        assertThrows(BadRequestException.class, () -> changeLogService.getChanges(ownerId, 1, 10));
+    }
+
+    private static Project newProject() {
+        Project project = new Project();
+        project.setName("Sincronización");
+        project.setDescription("delta");
+        project.setStartDate(LocalDate.of(2026, 1, 1));
+        project.setEndDate(LocalDate.of(2026, 12, 31));
+        return project;
+    }
+
+    private static Task newTask(String name) {
+        Task task = new Task();
+        task.setName(name);
+        task.setDescription("delta");
+        task.setDueDate(LocalDate.of(2026, 6, 1));
+        task.setStatus(TaskStatus.PENDING);
+        return task;
+    }
+}
@@ -0,0 +1,141 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import co.cenitiumdev.projectmanagementapi.services.repositories.TaskFilter;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Los listados de proyectos y tareas por cursor devuelven cada fila exactamente una vez y en
+ * orden, también cuando muchas tareas comparten fecha de vencimiento y el orden lo decide el id.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:keyset-pagination",
+        "app.scheduling.enabled=false"
+})
+class KeysetPaginationTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long OTHER_OWNER_ID = 2L;
+    private static final long PROJECT_ID = 1L;
+    private static final int PROJECTS = 23;
+    private static final int TASKS = 200;
+    private static final int PAGE_SIZE = 7;
+    private static final TaskFilter NO_FILTER = TaskService.parseFilter(null, null, null);
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // La caché de segundo nivel es de la JVM: otros contextos pueden tener proyectos con estos ids.
+        entityManagerFactory.getCache().evictAll();
+        if (jdbcTemplate.queryForObject("select count(*) from projects", Long.class) == 0) {
+            insertData();
+        }
+    }
+
+    @Test
+    void projectPagesCoverEveryOwnedProjectOnce() {
+        List<ProjectDTO> all = readAll(after -> projectService.getProjectsByOwner(OWNER_ID, after, PAGE_SIZE));
+
+        List<Long> expected = jdbcTemplate.queryForList("select id from projects where owner_id = ? order by id", Long.class, OWNER_ID);
+        assertEquals(expected, all.stream().map(ProjectDTO::getId).toList());
+    }
+
+    @Test
+    void taskPagesByIdCoverEveryTaskOnce() {
+        List<TaskDTO> all = readAll(after -> taskService.getTasksByProjectAndOwner(
+                PROJECT_ID, OWNER_ID, TaskService.SORT_BY_ID, NO_FILTER, after, PAGE_SIZE));
+
+        List<Long> expected = jdbcTemplate.queryForList("select id from tasks where project_id = ? order by id", Long.class, PROJECT_ID);
+        assertEquals(expected, all.stream().map(TaskDTO::getId).toList());
+    }
+
+    @Test
+    void taskPagesByDueDateBreakTiesById() {
+        List<TaskDTO> all = readAll(after -> taskService.getTasksByProjectAndOwner(
+                PROJECT_ID, OWNER_ID, TaskService.SORT_BY_DUE_DATE, NO_FILTER, after, PAGE_SIZE));
+
+        long expected = jdbcTemplate.queryForObject("select count(*) from tasks where project_id = ?", Long.class, PROJECT_ID);
+        assertEquals(expected, all.size());
+        assertEquals(expected, all.stream().map(TaskDTO::getId).distinct().count());
+        List<TaskDTO> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparing(TaskDTO::getDueDate).thenComparing(TaskDTO::getId));
+        assertEquals(sorted, all);
+    }
+
+    @Test
+    void rejectsInvalidCursors() {
+        String dueDateCursor = CursorCodec.encodeDueDate(LocalDate.of(2026, 1, 1), 1L);
+        assertThrows(BadRequestException.class, () -> projectService.getProjectsByOwner(OWNER_ID, "basura", PAGE_SIZE));
+        assertThrows(BadRequestException.class, () -> projectService.getProjectsByOwner(OWNER_ID, dueDateCursor, PAGE_SIZE));
+        assertThrows(BadRequestException.class, () -> taskService.getTasksByProjectAndOwner(
+                PROJECT_ID, OWNER_ID, TaskService.SORT_BY_ID, NO_FILTER, dueDateCursor, PAGE_SIZE));
+        assertThrows(BadRequestException.class, () -> taskService.getTasksByProjectAndOwner(
+                PROJECT_ID, OWNER_ID, TaskService.SORT_BY_DUE_DATE, NO_FILTER, CursorCodec.encodeId(1L), PAGE_SIZE));
+        assertThrows(BadRequestException.class, () -> taskService.getTasksByProjectAndOwner(
+                PROJECT_ID, OWNER_ID, TaskService.SORT_BY_ID, NO_FILTER, null, 0));
+    }
+
+    // Sigue nextCursor hasta el final; solo la última página puede venir incompleta.
+    private static <T> List<T> readAll(Function<String, CursorPageDTO<T>> pageLoader) {
+        List<T> all = new ArrayList<>();
+        CursorPageDTO<T> page = pageLoader.apply(null);
+        while (page.getNextCursor() != null) {
+            assertEquals(PAGE_SIZE, page.getItems().size());
+            all.addAll(page.getItems());
+            page = pageLoader.apply(page.getNextCursor());
+        }
+        all.addAll(page.getItems());
+        assertNull(page.getNextCursor());
+        return all;
+    }
+
+    private void insertData() {
+        jdbcTemplate.update("insert into users (id, username, password, email) values (?, 'keyset', 'x', 'keyset@test.local')", OWNER_ID);
+        jdbcTemplate.update("insert into users (id, username, password, email) values (?, 'otro', 'x', 'otro@test.local')", OTHER_OWNER_ID);
+        // Los proyectos de otro usuario se intercalan con los propios y no deben aparecer.
+        for (long id = 1; id <= PROJECTS * 2; id++) {
+            jdbcTemplate.update("insert into projects (id, version, name, owner_id) values (?, 0, ?, ?)",
+                    id, "Proyecto " + id, id % 2 == 1 ? OWNER_ID : OTHER_OWNER_ID);
+        }
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            // Solo cinco fechas distintas: casi todo el orden por fecha lo decide el id.
+            rows.add(new Object[]{"Tarea " + i, Date.valueOf(LocalDate.of(2026, 1, 1).plusDays((i * 7) % 5)),
+                    statuses[i % statuses.length].name(), i % 3 == 0 ? PROJECT_ID + 2 : PROJECT_ID});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (version, name, due_date, status, overdue, project_id) values (0, ?, ?, ?, false, ?)", rows);
+    }
+}
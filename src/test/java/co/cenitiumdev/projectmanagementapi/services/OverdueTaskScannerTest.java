@@ -0,0 +1,158 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:overdue-scan",
+        "app.scheduling.enabled=false",
+        "tasks.overdue.chunk-size=100"
+})
+class OverdueTaskScannerTest {
+
+    private static final int TASKS = 2000;
+    private static final LocalDate TODAY = LocalDate.of(2026, 6, 1);
+    private static final LocalDate FIRST_DUE_DATE = TODAY.minusDays(100);
+
+    @Autowired
+    private OverdueTaskScanner scanner;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<QueryInfo> captured = new CopyOnWriteArrayList<>();
+    private final QueryExecutionListener capture = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            captured.addAll(queryInfoList);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("delete from job_checkpoints");
+        jdbcTemplate.update("delete from change_log");
+        jdbcTemplate.update("delete from change_log_heads");
+        jdbcTemplate.update("delete from tasks");
+        jdbcTemplate.update("delete from project_task_counters");
+        jdbcTemplate.update("delete from projects");
+        jdbcTemplate.update("delete from users");
+        insertTasks();
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capture);
+    }
+
+    @Test
+    void flagsOpenPastDueTasksOnceAndResumesFromCheckpoint() {
+        OverdueTaskScanner.ScanResult first = scanner.scan(TODAY);
+
+        assertEquals(countDueBefore(TODAY), first.scanned());
+        assertEquals(countOpenDueBefore(TODAY), first.flagged());
+        assertEquals(first.flagged(), countFlagged());
+        assertEquals(0L, jdbcTemplate.queryForObject(
+                "select count(*) from tasks where overdue and status in ('COMPLETED', 'CANCELLED')", Long.class));
+        assertTrue(jdbcTemplate.queryForObject("select revision from project_task_counters where project_id = 1", Long.class) > 0);
+
+        OverdueTaskScanner.ScanResult sameDay = scanner.scan(TODAY);
+        assertEquals(0, sameDay.scanned());
+        assertEquals(0, sameDay.flagged());
+
+        // Al día siguiente solo se leen las tareas que vencieron ayer, no las anteriores.
+        OverdueTaskScanner.ScanResult nextDay = scanner.scan(TODAY.plusDays(1));
+        assertEquals(countDueBetween(TODAY, TODAY.plusDays(1)), nextDay.scanned());
+        assertEquals(countOpenDueBefore(TODAY.plusDays(1)), countFlagged());
+    }
+
+    @Test
+    void resumedScanUsesDueDateIndexRange() {
+        scanner.scan(TODAY);
+        captured.clear();
+
+        scanner.scan(TODAY.plusDays(1));
+
+        QueryInfo query = captured.stream()
+                .filter(info -> info.getQuery().contains("from tasks") && info.getQuery().startsWith("select"))
+                .findFirst()
+                .orElseThrow();
+        String plan = explain(query);
+        assertTrue(plan.toUpperCase().contains("IDX_TASKS_DUE_DATE_ID"), "Plan sin IDX_TASKS_DUE_DATE_ID:\n" + plan);
+        assertFalse(plan.contains("tableScan"), "Plan con recorrido completo:\n" + plan);
+    }
+
+    private long countDueBefore(LocalDate today) {
+        return jdbcTemplate.queryForObject("select count(*) from tasks where due_date < ?", Long.class, Date.valueOf(today));
+    }
+
+    private long countDueBetween(LocalDate from, LocalDate to) {
+        return jdbcTemplate.queryForObject("select count(*) from tasks where due_date >= ? and due_date < ?",
+                Long.class, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private long countOpenDueBefore(LocalDate today) {
+        return jdbcTemplate.queryForObject("select count(*) from tasks where due_date < ? and status in ('PENDING', 'IN_PROGRESS')",
+                Long.class, Date.valueOf(today));
+    }
+
+    private long countFlagged() {
+        return jdbcTemplate.queryForObject("select count(*) from tasks where overdue", Long.class);
+    }
+
+    private String explain(QueryInfo query) {
+        List<ParameterSetOperation> parameters = query.getParametersList().get(0);
+        return jdbcTemplate.query("explain " + query.getQuery(), statement -> {
+            for (ParameterSetOperation parameter : parameters) {
+                Object[] args = parameter.getArgs();
+                statement.setObject((Integer) args[0], args[1]);
+            }
+        }, resultSet -> {
+            resultSet.next();
+            return resultSet.getString(1);
+        });
+    }
+
+    private void insertTasks() {
+        jdbcTemplate.update("insert into users (id, username, password, email) values (1, 'overdue', 'x', 'overdue@test.local')");
+        jdbcTemplate.update("insert into projects (id, version, name, owner_id) values (1, 0, 'Vencidas', 1)");
+        jdbcTemplate.update("insert into project_task_counters (project_id, pending, in_progress, completed, cancelled, revision) " +
+                "values (1, 0, 0, 0, 0, 0)");
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            rows.add(new Object[]{"Tarea " + i, Date.valueOf(FIRST_DUE_DATE.plusDays(i % 200)), statuses[i % statuses.length].name()});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (version, name, due_date, status, overdue, project_id) values (0, ?, ?, ?, false, 1)", rows);
+        jdbcTemplate.execute("analyze");
+    }
+}
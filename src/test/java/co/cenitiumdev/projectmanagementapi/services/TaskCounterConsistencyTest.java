@@ -0,0 +1,222 @@
+package co.cenitiumdev.projectmanagementapi.services;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.BulkTaskStatusUpdateDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.ProjectTaskSummaryDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.UserRegistrationDTO;
+import co.cenitiumdev.projectmanagementapi.exceptions.ResourceNotFoundException;
+import co.cenitiumdev.projectmanagementapi.models.Project;
+import co.cenitiumdev.projectmanagementapi.models.Task;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import co.cenitiumdev.projectmanagementapi.services.repositories.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Los contadores de project_task_counters se mantienen con ajustes relativos en cada escritura;
+ * un descuadre no daría ningún error, así que se comparan con un recuento de la tabla de tareas
+ * tras cada tipo de operación y tras una tanda de escrituras concurrentes.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-counters",
+        "app.scheduling.enabled=false"
+})
+class TaskCounterConsistencyTest {
+
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(2030, 1, 1);
+    private static final int WRITERS = 6;
+    private static final int ROUNDS = 150;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskCounterService taskCounterService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void countersMatchARecountAfterEveryKindOfWrite() {
+        entityManagerFactory.getCache().evictAll();
+        Long ownerId = registerUser("counters");
+        Project project = projectService.createProject(newProject(), ownerId);
+        Project other = projectService.createProject(newProject(), ownerId);
+        TaskStatus[] statuses = TaskStatus.values();
+
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            tasks.add(taskService.createTask(project.getId(), newTask(i, statuses[i % statuses.length]), ownerId));
+            taskService.createTask(other.getId(), newTask(i, statuses[(i + 1) % statuses.length]), ownerId);
+        }
+        assertCountersMatchRecount(ownerId);
+
+        // Cambios individuales, con y sin cambio de estado.
+        for (int i = 0; i < 10; i++) {
+            Task task = tasks.get(i);
+            TaskStatus target = i % 2 == 0 ? statuses[(i + 2) % statuses.length] : task.getStatus();
+            tasks.set(i, taskService.updateTask(task.getId(), project.getId(), newTask(i, target), ownerId, null));
+        }
+        assertCountersMatchRecount(ownerId);
+
+        // Cambio masivo por ids, mezclando estados de origen y con tareas que ya están en el destino.
+        BulkTaskStatusUpdateDTO byIds = new BulkTaskStatusUpdateDTO();
+        byIds.setTaskIds(tasks.subList(5, 20).stream().map(Task::getId).toList());
+        byIds.setTargetStatus(TaskStatus.IN_PROGRESS);
+        taskService.updateTaskStatuses(project.getId(), byIds, ownerId);
+        assertCountersMatchRecount(ownerId);
+
+        // Cambio masivo por filtro de estado y rango de vencimiento.
+        BulkTaskStatusUpdateDTO byFilter = new BulkTaskStatusUpdateDTO();
+        byFilter.setStatuses(Set.of(TaskStatus.IN_PROGRESS, TaskStatus.PENDING));
+        byFilter.setDueFrom(FIRST_DUE_DATE.plusDays(3));
+        byFilter.setDueTo(FIRST_DUE_DATE.plusDays(25));
+        byFilter.setTargetStatus(TaskStatus.COMPLETED);
+        taskService.updateTaskStatuses(project.getId(), byFilter, ownerId);
+        assertCountersMatchRecount(ownerId);
+
+        for (int i = 0; i < 30; i += 3) {
+            taskService.deleteTask(tasks.get(i).getId(), project.getId(), ownerId, null);
+        }
+        assertCountersMatchRecount(ownerId);
+    }
+
+    @Test
+    void countersMatchARecountAfterConcurrentWrites() throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        Long ownerId = registerUser("concurrent");
+        Long projectId = projectService.createProject(newProject(), ownerId).getId();
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Long> taskIds = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            taskIds.add(taskService.createTask(projectId, newTask(i, statuses[i % statuses.length]), ownerId).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int writer = 0; writer < WRITERS; writer++) {
+                Random random = new Random(writer);
+                writers.add(executor.submit(() -> {
+                    for (int round = 0; round < ROUNDS; round++) {
+                        writeConcurrently(random, projectId, ownerId, taskIds);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertCountersMatchRecount(ownerId);
+    }
+
+    // Mezcla cambios masivos (por filtro y por ids), cambios individuales, altas y bajas sobre las
+    // mismas tareas. Los conflictos de versión y las tareas ya borradas son resultados esperados.
+    private void writeConcurrently(Random random, Long projectId, Long ownerId, List<Long> taskIds) {
+        TaskStatus[] statuses = TaskStatus.values();
+        TaskStatus target = statuses[random.nextInt(statuses.length)];
+        Long taskId = taskIds.get(random.nextInt(taskIds.size()));
+        try {
+            switch (random.nextInt(5)) {
+                case 0 -> {
+                    BulkTaskStatusUpdateDTO byFilter = new BulkTaskStatusUpdateDTO();
+                    byFilter.setStatuses(Set.of(statuses[random.nextInt(statuses.length)]));
+                    byFilter.setTargetStatus(target);
+                    taskService.updateTaskStatuses(projectId, byFilter, ownerId);
+                }
+                case 1 -> {
+                    BulkTaskStatusUpdateDTO byIds = new BulkTaskStatusUpdateDTO();
+                    byIds.setTaskIds(List.of(taskId, taskIds.get(random.nextInt(taskIds.size()))));
+                    byIds.setTargetStatus(target);
+                    taskService.updateTaskStatuses(projectId, byIds, ownerId);
+                }
+                case 2 -> taskService.updateTask(taskId, projectId, newTask(random.nextInt(30), target), ownerId, null);
+                case 3 -> taskIds.add(taskService.createTask(projectId, newTask(random.nextInt(30), target), ownerId).getId());
+                default -> taskService.deleteTask(taskId, projectId, ownerId, null);
+            }
+        } catch (ObjectOptimisticLockingFailureException | ResourceNotFoundException expected) {
+            // Otra escritura ganó la carrera: la transacción se deshace entera, contadores incluidos.
+        }
+    }
+
+    private void assertCountersMatchRecount(Long ownerId) {
+        for (ProjectTaskSummaryDTO summary : taskCounterService.getSummariesByOwner(ownerId)) {
+            Map<TaskStatus, Long> recount = new EnumMap<>(TaskStatus.class);
+            for (TaskStatus status : TaskStatus.values()) {
+                recount.put(status, 0L);
+            }
+            jdbcTemplate.query("select status, count(*) from tasks where project_id = ? group by status",
+                    row -> {
+                        recount.put(TaskStatus.valueOf(row.getString(1)), row.getLong(2));
+                    },
+                    summary.getProjectId());
+
+            Map<TaskStatus, Long> counters = new EnumMap<>(TaskStatus.class);
+            counters.put(TaskStatus.PENDING, summary.getPending());
+            counters.put(TaskStatus.IN_PROGRESS, summary.getInProgress());
+            counters.put(TaskStatus.COMPLETED, summary.getCompleted());
+            counters.put(TaskStatus.CANCELLED, summary.getCancelled());
+            assertEquals(recount, counters, "Proyecto " + summary.getProjectId());
+        }
+    }
+
+    private Long registerUser(String username) {
+        UserRegistrationDTO registration = new UserRegistrationDTO();
+        registration.setUsername(username);
+        registration.setPassword("secret123");
+        registration.setEmail(username + "@test.local");
+        userService.registerNewUser(registration);
+        return userRepository.findByEmail(username + "@test.local").orElseThrow().getId();
+    }
+
+    private static Project newProject() {
+        Project project = new Project();
+        project.setName("Contadores");
+        project.setDescription("recuento");
+        project.setStartDate(LocalDate.of(2030, 1, 1));
+        project.setEndDate(LocalDate.of(2030, 12, 31));
+        return project;
+    }
+
+    private static Task newTask(int index, TaskStatus status) {
+        Task task = new Task();
+        task.setName("Tarea " + index);
+        task.setDescription("recuento");
+        task.setDueDate(FIRST_DUE_DATE.plusDays(index));
+        task.setStatus(status);
+        return task;
+    }
+}
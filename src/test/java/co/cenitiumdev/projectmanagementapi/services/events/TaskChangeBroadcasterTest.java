@@ -0,0 +1,181 @@
+package co.cenitiumdev.projectmanagementapi.services.events;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskChangeDTO;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskChangeBroadcasterTest {
+
+    private static final int CAPACITY = 4;
+    private static final Duration SEND_TIMEOUT = Duration.ofMillis(200);
+
+    private final TaskChangeBroadcaster broadcaster = new TaskChangeBroadcaster(
+            new SimpleMeterRegistry(), CAPACITY, 100_000, Duration.ofMinutes(5), 2, SEND_TIMEOUT, 64);
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void idleSubscriptionsAreCheap() {
+        for (long i = 0; i < 20_000; i++) {
+            broadcaster.subscribe(i % 1000, new RecordingEmitter(null));
+        }
+        assertEquals(20_000, broadcaster.getSubscriberCount());
+    }
+
+    @Test
+    void deliversOnlyToSubscribersOfTheProject() throws Exception {
+        RecordingEmitter subscriber = new RecordingEmitter(null);
+        RecordingEmitter other = new RecordingEmitter(null);
+        broadcaster.subscribe(1L, subscriber);
+        broadcaster.subscribe(2L, other);
+
+        broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.CREATED, 10L, 0L));
+
+        assertEquals(List.of(new TaskChangeDTO(TaskChangeType.CREATED, 10L, 0L)), subscriber.awaitChanges(1));
+        assertTrue(other.changes.isEmpty());
+    }
+
+    @Test
+    void coalescesChangesWhileTheSubscriberIsBusy() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        broadcaster.subscribe(1L, slow);
+
+        broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.CREATED, 10L, 0L));
+        slow.blocked.await(5, TimeUnit.SECONDS);
+        for (long version = 1; version <= 20; version++) {
+            broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.UPDATED, 10L, version));
+        }
+        broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.DELETED, 11L, 3L));
+        release.countDown();
+
+        assertEquals(List.of(
+                new TaskChangeDTO(TaskChangeType.CREATED, 10L, 0L),
+                new TaskChangeDTO(TaskChangeType.UPDATED, 10L, 20L),
+                new TaskChangeDTO(TaskChangeType.DELETED, 11L, 3L)), slow.awaitChanges(3));
+    }
+
+    @Test
+    void overflowBecomesResyncAndThenDisconnects() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter stuck = new RecordingEmitter(release);
+        broadcaster.subscribe(1L, stuck);
+        broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.CREATED, 1L, 0L));
+        stuck.blocked.await(5, TimeUnit.SECONDS);
+
+        for (long taskId = 2; taskId <= 2 + CAPACITY; taskId++) {
+            broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.CREATED, taskId, 0L));
+        }
+        assertEquals(1, broadcaster.getSubscriberCount());
+
+        for (long taskId = 100; taskId <= 100 + CAPACITY; taskId++) {
+            broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.CREATED, taskId, 0L));
+        }
+        assertEquals(0, broadcaster.getSubscriberCount());
+        release.countDown();
+    }
+
+    @Test
+    void resyncReplacesPendingChanges() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        broadcaster.subscribe(1L, slow);
+        broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.CREATED, 1L, 0L));
+        slow.blocked.await(5, TimeUnit.SECONDS);
+
+        broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.UPDATED, 1L, 1L));
+        broadcaster.onTaskChanged(TaskChanged.resync(1L));
+        release.countDown();
+
+        assertEquals(List.of(
+                new TaskChangeDTO(TaskChangeType.CREATED, 1L, 0L),
+                new TaskChangeDTO(TaskChangeType.RESYNC, null, null)), slow.awaitChanges(2));
+    }
+
+    @Test
+    void stalledSubscribersDoNotBlockDeliveryToOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<RecordingEmitter> stalled = List.of(new RecordingEmitter(release), new RecordingEmitter(release));
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        try {
+            stalled.forEach(emitter -> broadcaster.subscribe(1L, emitter));
+            broadcaster.subscribe(2L, healthy);
+
+            // Cada cliente bloqueado retiene uno de los dos hilos de envío.
+            broadcaster.onTaskChanged(new TaskChanged(1L, TaskChangeType.CREATED, 1L, 0L));
+            for (RecordingEmitter emitter : stalled) {
+                assertTrue(emitter.blocked.await(5, TimeUnit.SECONDS));
+            }
+            Thread.sleep(SEND_TIMEOUT.toMillis() + 50);
+            broadcaster.checkStalledSenders();
+            assertEquals(1, broadcaster.getSubscriberCount());
+
+            broadcaster.onTaskChanged(new TaskChanged(2L, TaskChangeType.CREATED, 2L, 0L));
+            // Sin hilos de reemplazo el evento esperaría hasta que los clientes bloqueados se liberan.
+            assertEquals(List.of(new TaskChangeDTO(TaskChangeType.CREATED, 2L, 0L)), healthy.awaitChanges(1, Duration.ofSeconds(1)));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    /** Emisor sin conexión real: guarda los cambios y puede bloquear el primer envío como un cliente lento. */
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<TaskChangeDTO> changes = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private final CountDownLatch blocked = new CountDownLatch(1);
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof TaskChangeDTO change) {
+                    if (release != null && changes.isEmpty()) {
+                        blocked.countDown();
+                        awaitRelease();
+                    }
+                    changes.add(change);
+                }
+            }
+        }
+
+        List<TaskChangeDTO> awaitChanges(int count) throws InterruptedException {
+            return awaitChanges(count, Duration.ofSeconds(5));
+        }
+
+        List<TaskChangeDTO> awaitChanges(int count, Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (changes.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            return List.copyOf(changes);
+        }
+
+        private void awaitRelease() {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package co.cenitiumdev.projectmanagementapi.services.repositories;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.TaskDTO;
+import co.cenitiumdev.projectmanagementapi.models.enums.TaskStatus;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba con EXPLAIN de H2 que las consultas filtradas que genera Criteria se resuelven con
+ * los índices compuestos de tasks y no recorriendo la tabla. Se ejecuta el SQL real capturado en
+ * el proxy JDBC, con los mismos parámetros.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:task-query-plans")
+class TaskQueryPlanTest {
+
+    private static final long PROJECT_ID = 1L;
+    private static final int TASKS = 5000;
+    private static final LocalDate FIRST_DUE_DATE = LocalDate.of(2026, 1, 1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private final List<QueryInfo> captured = new CopyOnWriteArrayList<>();
+    private final QueryExecutionListener capture = new QueryExecutionListener() {
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            captured.addAll(queryInfoList);
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("select count(*) from tasks", Long.class) == 0) {
+            insertTasks();
+        }
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capture);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capture);
+    }
+
+    @Test
+    void statusAndDueDateRangeUsesStatusIndex() {
+        TaskFilter filter = new TaskFilter(EnumSet.of(TaskStatus.IN_PROGRESS), FIRST_DUE_DATE.plusDays(7), FIRST_DUE_DATE.plusDays(13));
+
+        List<TaskDTO> page = taskRepository.findFilteredDtoPage(PROJECT_ID, filter, false, null, null, 500);
+
+        assertFalse(page.isEmpty());
+        page.forEach(task -> assertMatches(filter, task));
+        assertPlanUses("IDX_TASKS_PROJECT_ID_STATUS_DUE_DATE");
+    }
+
+    @Test
+    void dueDateRangeSortedByDueDateUsesDueDateIndex() {
+        TaskFilter filter = new TaskFilter(null, FIRST_DUE_DATE.plusDays(30), FIRST_DUE_DATE.plusDays(35));
+
+        List<TaskDTO> page = taskRepository.findFilteredDtoPage(PROJECT_ID, filter, true, FIRST_DUE_DATE.plusDays(31), 0L, 50);
+
+        assertFalse(page.isEmpty());
+        page.forEach(task -> assertMatches(filter, task));
+        assertPlanUses("IDX_TASKS_PROJECT_ID_DUE_DATE_ID");
+    }
+
+    @Test
+    void keysetPagesCoverEveryMatchingTaskInOrder() {
+        TaskFilter filter = new TaskFilter(EnumSet.of(TaskStatus.PENDING, TaskStatus.COMPLETED), FIRST_DUE_DATE.plusDays(10), FIRST_DUE_DATE.plusDays(40));
+
+        List<TaskDTO> all = new ArrayList<>();
+        List<TaskDTO> page = taskRepository.findFilteredDtoPage(PROJECT_ID, filter, true, null, null, 37);
+        while (!page.isEmpty()) {
+            all.addAll(page);
+            TaskDTO last = page.get(page.size() - 1);
+            page = taskRepository.findFilteredDtoPage(PROJECT_ID, filter, true, last.getDueDate(), last.getId(), 37);
+        }
+
+        Long expected = jdbcTemplate.queryForObject(
+                "select count(*) from tasks where project_id = ? and status in ('PENDING', 'COMPLETED') and due_date between ? and ?",
+                Long.class, PROJECT_ID, Date.valueOf(filter.getDueFrom()), Date.valueOf(filter.getDueTo()));
+        assertEquals(expected, (long) all.size());
+        all.forEach(task -> assertMatches(filter, task));
+        List<TaskDTO> sorted = new ArrayList<>(all);
+        sorted.sort(Comparator.comparing(TaskDTO::getDueDate).thenComparing(TaskDTO::getId));
+        assertEquals(sorted, all);
+    }
+
+    private void assertPlanUses(String index) {
+        QueryInfo query = captured.stream()
+                .filter(info -> info.getQuery().contains("from tasks"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        String plan = explain(query);
+        assertTrue(plan.toUpperCase().contains(index), "Plan sin " + index + ":\n" + plan);
+        assertFalse(plan.contains("tableScan"), "Plan con recorrido completo:\n" + plan);
+    }
+
+    private String explain(QueryInfo query) {
+        List<ParameterSetOperation> parameters = query.getParametersList().get(0);
+        return jdbcTemplate.query("explain " + query.getQuery(), statement -> {
+            for (ParameterSetOperation parameter : parameters) {
+                Object[] args = parameter.getArgs();
+                statement.setObject((Integer) args[0], args[1]);
+            }
+        }, resultSet -> {
+            resultSet.next();
+            return resultSet.getString(1);
+        });
+    }
+
+    private static void assertMatches(TaskFilter filter, TaskDTO task) {
+        if (filter.getStatuses() != null) {
+            assertTrue(filter.getStatuses().contains(task.getStatus()), task.toString());
+        }
+        assertFalse(task.getDueDate().isBefore(filter.getDueFrom()), task.toString());
+        assertFalse(task.getDueDate().isAfter(filter.getDueTo()), task.toString());
+    }
+
+    private void insertTasks() {
+        jdbcTemplate.update("insert into users (id, username, password, email) values (1, 'plans', 'x', 'plans@test.local')");
+        jdbcTemplate.update("insert into projects (id, version, name, owner_id) values (?, 0, 'Planes', 1)", PROJECT_ID);
+        jdbcTemplate.update("insert into projects (id, version, name, owner_id) values (2, 0, 'Otro', 1)");
+        TaskStatus[] statuses = TaskStatus.values();
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            rows.add(new Object[]{"Tarea " + i, Date.valueOf(FIRST_DUE_DATE.plusDays(i % 365)),
+                    statuses[i % statuses.length].name(), i % 5 == 0 ? 2L : PROJECT_ID});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (version, name, due_date, status, overdue, project_id) values (0, ?, ?, ?, false, ?)", rows);
+        jdbcTemplate.execute("analyze");
+    }
+}
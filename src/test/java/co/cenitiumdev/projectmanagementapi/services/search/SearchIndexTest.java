@@ -0,0 +1,143 @@
+package co.cenitiumdev.projectmanagementapi.services.search;
+
+import co.cenitiumdev.projectmanagementapi.DTOs.CursorPageDTO;
+import co.cenitiumdev.projectmanagementapi.DTOs.SearchResultDTO;
+import co.cenitiumdev.projectmanagementapi.models.enums.SearchResultType;
+import co.cenitiumdev.projectmanagementapi.utils.CursorCodec;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchIndexTest {
+
+    private static final long ALICE = 1L;
+    private static final long BOB = 2L;
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        index = new SearchIndex(Duration.ofSeconds(10));
+        index.upsert(project(10, ALICE, "Migración de facturación", "Mover el cobro al nuevo proveedor"));
+        index.upsert(task(100, 10, ALICE, "Revisar facturas duplicadas", "Cruzar con el extracto del banco"));
+        index.upsert(task(101, 10, ALICE, "Preparar reunión", "Repasar la factura de marzo con finanzas"));
+        index.upsert(task(102, 10, ALICE, "Actualizar documentación", null));
+        index.upsert(project(20, BOB, "Facturación interna", "Proyecto de otro usuario"));
+        index.upsert(task(200, 20, BOB, "Revisar facturas", "Tarea de otro usuario"));
+        index.refresh();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void onlyReturnsDocumentsOfTheOwner() {
+        List<SearchResultDTO> results = search(ALICE, "factura", null, null).getItems();
+
+        assertEquals(Set.of(10L, 100L, 101L), new HashSet<>(ids(results)));
+        assertTrue(search(BOB, "reunion", null, null).getItems().isEmpty());
+    }
+
+    @Test
+    void matchesPrefixesIgnoringCaseAndAccents() {
+        assertEquals(List.of(10L), ids(search(ALICE, "MIGRA", null, null).getItems()));
+        assertEquals(List.of(101L), ids(search(ALICE, "reunion", null, null).getItems()));
+        assertEquals(List.of(102L), ids(search(ALICE, "docu", null, null).getItems()));
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        List<SearchResultDTO> results = search(ALICE, "factura", null, null).getItems();
+
+        assertEquals(101L, results.get(results.size() - 1).getId());
+        assertTrue(results.get(0).getScore() > results.get(results.size() - 1).getScore());
+    }
+
+    @Test
+    void allTermsMustMatch() {
+        assertEquals(List.of(100L), ids(search(ALICE, "revisar fact", null, null).getItems()));
+        assertTrue(search(ALICE, "revisar marzo", null, null).getItems().isEmpty());
+    }
+
+    @Test
+    void filtersByTypeAndProject() {
+        List<SearchResultDTO> projects = search(ALICE, "fact", SearchResultType.PROJECT, null).getItems();
+        assertEquals(List.of(10L), ids(projects));
+        assertEquals(SearchResultType.PROJECT, projects.get(0).getType());
+
+        assertTrue(search(ALICE, "fact", null, 20L).getItems().isEmpty());
+    }
+
+    @Test
+    void pagesWithCursorWithoutRepeatingResults() {
+        for (long id = 1000; id < 1025; id++) {
+            index.upsert(task(id, 10, ALICE, "Informe semanal " + id, id % 2 == 0 ? "informe" : null));
+        }
+        index.refresh();
+
+        Set<Long> seen = new HashSet<>();
+        String after = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<SearchResultDTO> page = index.search(ALICE, "informe", null, null,
+                    after == null ? null : CursorCodec.decodeSearch(after), 10);
+            for (SearchResultDTO result : page.getItems()) {
+                assertTrue(seen.add(result.getId()), "repetido " + result.getId());
+            }
+            after = page.getNextCursor();
+            pages++;
+        } while (after != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void updatesAndDeletesAreReflectedAfterRefresh() {
+        index.upsert(task(102, 10, ALICE, "Actualizar presupuesto", null));
+        index.delete(SearchResultType.TASK, 100L);
+        index.refresh();
+
+        assertTrue(search(ALICE, "documentacion", null, null).getItems().isEmpty());
+        assertEquals(List.of(102L), ids(search(ALICE, "presupuesto", null, null).getItems()));
+        assertEquals(List.of(101L), ids(search(ALICE, "factura", SearchResultType.TASK, null).getItems()));
+
+        index.delete(SearchResultType.PROJECT, 10L);
+        index.refresh();
+        CursorPageDTO<SearchResultDTO> page = search(ALICE, "reunion", null, null);
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+    }
+
+    private CursorPageDTO<SearchResultDTO> search(long ownerId, String text, SearchResultType type, Long projectId) {
+        return index.search(ownerId, text, type, projectId, null, CursorCodec.DEFAULT_LIMIT);
+    }
+
+    private static SearchDocument project(long id, long ownerId, String name, String description) {
+        return new SearchDocument(SearchResultType.PROJECT, id, id, ownerId, name, description);
+    }
+
+    private static SearchDocument task(long id, long projectId, long ownerId, String name, String description) {
+        return new SearchDocument(SearchResultType.TASK, id, projectId, ownerId, name, description);
+    }
+
+    private static List<Long> ids(List<SearchResultDTO> results) {
+        List<Long> ids = new ArrayList<>();
+        for (SearchResultDTO result : results) {
+            ids.add(result.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,57 @@
+package co.cenitiumdev.projectmanagementapi.utils;
+
+import co.cenitiumdev.projectmanagementapi.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorCodecTest {
+
+    @Test
+    void cursorsRoundTrip() {
+        assertEquals(42L, CursorCodec.decodeId(CursorCodec.encodeId(42L)));
+        assertEquals(Long.MAX_VALUE, CursorCodec.decodeId(CursorCodec.encodeId(Long.MAX_VALUE)));
+        assertEquals(new CursorCodec.DueDateCursor(LocalDate.of(2026, 2, 28), 7L),
+                CursorCodec.decodeDueDate(CursorCodec.encodeDueDate(LocalDate.of(2026, 2, 28), 7L)));
+        float score = 0.1f + 0.2f;
+        CursorCodec.SearchCursor search = CursorCodec.decodeSearch(CursorCodec.encodeSearch(score, 99L));
+        assertEquals(Float.floatToIntBits(score), Float.floatToIntBits(search.score()));
+        assertEquals(99L, search.key());
+    }
+
+    @Test
+    void rejectsTamperedOrForeignCursors() {
+        String idCursor = CursorCodec.encodeId(42L);
+        String dueDateCursor = CursorCodec.encodeDueDate(LocalDate.of(2026, 6, 1), 42L);
+
+        // Un cursor de otro orden no sirve para continuar este.
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeId(dueDateCursor));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeDueDate(idCursor));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeSearch(idCursor));
+
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeId("no es base64!"));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeId(idCursor.substring(1)));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeId(encode("i:42 or 1=1")));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeId(encode("i:")));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeDueDate(encode("d:2026-02-30:7")));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeDueDate(encode("d:2026-06-01:x")));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeDueDate(encode("d::7")));
+        assertThrows(BadRequestException.class, () -> CursorCodec.decodeSearch(encode("s:uno:7")));
+    }
+
+    @Test
+    void limitsAreClampedToTheMaximum() {
+        assertEquals(1, CursorCodec.normalizeLimit(1));
+        assertEquals(CursorCodec.MAX_LIMIT, CursorCodec.normalizeLimit(CursorCodec.MAX_LIMIT + 1));
+        assertThrows(BadRequestException.class, () -> CursorCodec.normalizeLimit(0));
+    }
+
+    private static String encode(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}